@@ -0,0 +1,88 @@
+package spring.transaction.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import spring.transaction.manager.TrustedAutoCommitTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BasicTxText.double_commit / double_commit_rollback 시나리오의 getTransaction() ~ commit()/rollback() 비용
+ * - AUTOCOMMIT : pool auto-commit=true + DataSourceTransactionManager -> 트랜잭션마다 setAutoCommit(false/true)
+ * - DEFAULT    : pool auto-commit=false + DataSourceTransactionManager -> 트랜잭션마다 getAutoCommit() 확인
+ * - TRUSTED    : pool auto-commit=false + TrustedAutoCommitTransactionManager -> auto-commit 호출 없음
+ * * sql=false 이면 TRUSTED는 con을 꺼내지 않으므로 sql=true(select 1)와 함께 비교
+ *   ex) ./gradlew jmh -PjmhInclude=AutoCommitBenchmark -PjmhThreads=1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutoCommitBenchmark {
+
+    @Param({"AUTOCOMMIT", "DEFAULT", "TRUSTED"})
+    public String mode;
+
+    @Param({"false", "true"})
+    public boolean sql;
+
+    private ConfigurableApplicationContext context;
+    private DataSourceTransactionManager txManager;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "--spring.profiles.active=pool",
+                "--datasource.trusted-autocommit.enabled=false",
+                "--spring.datasource.hikari.auto-commit=" + mode.equals("AUTOCOMMIT"),
+                "--spring.jpa.properties.hibernate.connection.provider_disables_autocommit=" + !mode.equals("AUTOCOMMIT"));
+        DataSource dataSource = context.getBean(DataSource.class);
+        txManager = mode.equals("TRUSTED")
+                ? new TrustedAutoCommitTransactionManager(dataSource)
+                : new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(txManager.getDataSource());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void double_commit() {
+        TransactionStatus tx1 = begin();
+        txManager.commit(tx1);
+        TransactionStatus tx2 = begin();
+        txManager.commit(tx2);
+    }
+
+    @Benchmark
+    public void double_commit_rollback() {
+        TransactionStatus tx1 = begin();
+        txManager.commit(tx1);
+        TransactionStatus tx2 = begin();
+        txManager.rollback(tx2);
+    }
+
+    private TransactionStatus begin() {
+        TransactionStatus status = txManager.getTransaction(new DefaultTransactionDefinition());
+        if (sql) {
+            jdbcTemplate.queryForObject("select 1", Integer.class);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,36 @@
+package spring.transaction.bench;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.transaction.TransactionApplication;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 스프링 컨텍스트 (내장 H2)
+ * * application.properties의 TRACE/DEBUG 트랜잭션 로그는 측정값을 왜곡하므로 커맨드라인 인자로 끔
+ */
+public final class BenchmarkContext {
+
+    private static final String[] QUIET_LOGGING = {
+            "--logging.level.root=WARN",
+            "--logging.level.spring.transaction=WARN",
+            "--logging.level.org.springframework.transaction.interceptor=WARN",
+            "--logging.level.org.springframework.jdbc.datasource.DataSourceTransactionManager=WARN",
+            "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+            "--logging.level.org.hibernate.SQL=WARN"
+    };
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        String[] allArgs = Stream.concat(Arrays.stream(QUIET_LOGGING), Arrays.stream(args))
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TransactionApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run(allArgs);
+    }
+}
@@ -0,0 +1,37 @@
+package spring.transaction.bench;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * 스레드 수별로 JMH를 반복 실행
+ * - args[0] : 실행할 벤치마크 정규식
+ * - args[1] : 스레드 수 목록 (ex. 1,4,8)
+ * * tx.mode(proxy / aspectj), hibernate.enhance(빌드 시 바이트코드 향상 여부)는 fork된 JVM에도 전달
+ * * 측정 모드(Throughput / SampleTime의 백분위 지연시간)는 각 벤치마크 클래스의 @BenchmarkMode를 따름
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        String threads = args.length > 1 ? args[1] : "1";
+
+        for (String thread : threads.split(",")) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .jvmArgsAppend("-Dtx.mode=" + System.getProperty("tx.mode", "proxy"),
+                            "-Dhibernate.enhance=" + System.getProperty("hibernate.enhance", "true"))
+                    .threads(Integer.parseInt(thread.trim()))
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(2))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
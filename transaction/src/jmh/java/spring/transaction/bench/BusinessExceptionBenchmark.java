@@ -0,0 +1,89 @@
+package spring.transaction.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.transaction.order.NotEnoughMoneyException;
+import spring.transaction.order.Order;
+import spring.transaction.order.OrderResult;
+import spring.transaction.order.OrderService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔고부족 처리 비용
+ * 1. 예외 생성/throw 만 : 스택 깊이 depth 에서 throw -> catch (스택 트레이스 생성 여부에 따라 비교)
+ * 2. 실제 주문 : order()의 NotEnoughMoneyException vs orderWithResult()의 결과 객체
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BusinessExceptionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stackTrace;
+
+    //스프링 프록시/interceptor를 거친 호출 정도의 깊이
+    @Param({"50"})
+    public int depth;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--tx.business-exception.stack-trace=" + stackTrace);
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String throw_catch() {
+        try {
+            throwAt(depth);
+            return null;
+        } catch (NotEnoughMoneyException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String orderService_order_bizException() {
+        try {
+            orderService.order(order());
+            return null;
+        } catch (NotEnoughMoneyException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public OrderResult orderService_orderWithResult() {
+        return orderService.orderWithResult(order());
+    }
+
+    private void throwAt(int remaining) throws NotEnoughMoneyException {
+        if (remaining == 0) {
+            throw new NotEnoughMoneyException("잔고가 부족합니다");
+        }
+        throwAt(remaining - 1);
+    }
+
+    private Order order() {
+        Order order = new Order();
+        order.setUnsername("잔고부족");
+        return order;
+    }
+}
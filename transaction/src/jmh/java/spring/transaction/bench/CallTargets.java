@@ -0,0 +1,40 @@
+package spring.transaction.bench;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 내부호출 vs 빈 분리(외부호출) 비교용
+ * * internalCall() : this.internal() - 프록시 모드에서는 트랜잭션 미적용, 위빙 모드에서는 적용
+ * * splitCall()    : 분리한 빈의 internal() - 프록시 모드에서 내부호출 문제를 피하는 방법 (InternalCallV2Test)
+ */
+@Component
+@RequiredArgsConstructor
+public class CallTargets {
+
+    private final InternalTarget internalTarget;
+
+    public boolean internalCall() {
+        return internal();
+    }
+
+    public boolean splitCall() {
+        return internalTarget.internal();
+    }
+
+    @Transactional
+    public boolean internal() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    @Component
+    public static class InternalTarget {
+
+        @Transactional
+        public boolean internal() {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package spring.transaction.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.transaction.executor.TransactionExecutor;
+import spring.transaction.order.NotEnoughMoneyException;
+import spring.transaction.order.Order;
+import spring.transaction.order.OrderService;
+import spring.transaction.propagation.MemberService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동시 요청 REQUESTS개를 TransactionExecutor로 실행 - 플랫폼 스레드 풀 vs 가상 스레드
+ * * 가상 스레드는 Java 21+ JVM에서 실행해야 의미가 있음 (Java 17에서는 VIRTUAL도 PLATFORM으로 동작)
+ *   ex) JAVA_HOME=<jdk21> ./gradlew jmh -PjmhInclude=ExecutorModeBenchmark
+ * * 측정값은 요청 하나당 처리량 (@OperationsPerInvocation)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExecutorModeBenchmark {
+
+    private static final int REQUESTS = 1000;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String mode;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private TransactionExecutor executor;
+    private MemberService memberService;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--tx.executor.mode=" + mode);
+        executor = context.getBean(TransactionExecutor.class);
+        memberService = context.getBean(MemberService.class);
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void memberService_joinV1() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            String username = "bench_" + sequence.incrementAndGet();
+            futures[i] = executor.run(() -> memberService.joinV1(username));
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void orderService_order() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            futures[i] = executor.submit(() -> {
+                Order order = new Order();
+                order.setUnsername("정상");
+                orderService.order(order);
+                return order.getId();
+            });
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
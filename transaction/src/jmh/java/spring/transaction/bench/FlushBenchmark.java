@@ -0,0 +1,101 @@
+package spring.transaction.bench;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.transaction.propagation.Member;
+import spring.transaction.propagation.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 영속성 컨텍스트에 엔티티 10,000개가 있을 때 flush 비용
+ * * 바이트코드 향상 여부는 빌드 시점에 결정 -> -PhibernateEnhance=false 로 한번 더 실행해서 비교
+ * * 매 호출마다 새 EntityManager에 10,000개를 조회 (측정 제외) -> 일부만 변경 후 flush (측정) -> 롤백
+ *   - flush_noChanges : 변경 없음 - 미향상 엔티티는 10,000개 모두 스냅샷 비교, 향상 엔티티는 dirty 여부만 확인
+ *   - flush_updateHundred : 100개 변경
+ * * 스프링 컨텍스트와 데이터는 벤치마크 전체에서 하나(Scope.Benchmark), EntityManager는 스레드마다(Session)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlushBenchmark {
+
+    private static final int ENTITIES = 10_000;
+    private static final int UPDATES = 100;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        List<Member> newMembers = new ArrayList<>(ENTITIES);
+        for (int i = 0; i < ENTITIES; i++) {
+            newMembers.add(new Member("flush_" + i));
+        }
+        context.getBean(MemberRepository.class).saveAll(newMembers);
+
+        //빌드 설정(-PhibernateEnhance)과 실제 클래스가 다르면 비교 결과가 의미 없음
+        boolean expected = Boolean.parseBoolean(System.getProperty("hibernate.enhance", "true"));
+        boolean enhanced = ManagedEntity.class.isAssignableFrom(Member.class);
+        if (enhanced != expected) {
+            throw new IllegalStateException("Member 바이트코드 향상 = " + enhanced + ", 빌드 설정 = " + expected);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private EntityManager em;
+        private List<Member> members;
+
+        @Setup(Level.Invocation)
+        public void load(FlushBenchmark benchmark) {
+            em = benchmark.entityManagerFactory.createEntityManager();
+            em.getTransaction().begin();
+            members = em.createQuery("select m from Member m where m.username like 'flush\\_%' escape '\\'", Member.class)
+                    .getResultList();
+        }
+
+        @TearDown(Level.Invocation)
+        public void rollback() {
+            em.getTransaction().rollback();
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public void flush_noChanges(Session session) {
+        session.em.flush();
+    }
+
+    @Benchmark
+    public void flush_updateHundred(Session session) {
+        for (int i = 0; i < UPDATES; i++) {
+            session.members.get(i).setUsername("flush_updated_" + sequence.incrementAndGet());
+        }
+        session.em.flush();
+    }
+}
@@ -0,0 +1,83 @@
+package spring.transaction.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import spring.transaction.propagation.LogRepository;
+import spring.transaction.propagation.Member;
+import spring.transaction.propagation.MemberRepository;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테이블 크기에 따른 username / message 조회 지연시간
+ * -> 인덱스가 있으면 행 수가 늘어나도 지연시간은 거의 일정해야 함
+ * * 데이터는 H2 system_range로 직접 insert (id는 시퀀스 범위와 겹치지 않도록 큰 값부터)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LookupBenchmark {
+
+    private static final long ID_OFFSET = 1_000_000_000L;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private LogRepository logRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        memberRepository = context.getBean(MemberRepository.class);
+        logRepository = context.getBean(LogRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into member (id, username) select x + ?, 'user_' || x from system_range(1, ?)",
+                ID_OFFSET, rows);
+        jdbcTemplate.update("insert into log (id, message) select x + ?, 'user_' || x from system_range(1, ?)",
+                ID_OFFSET, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Member> member_find() {
+        return memberRepository.find(randomName());
+    }
+
+    @Benchmark
+    public boolean member_exists() {
+        return memberRepository.exists(randomName());
+    }
+
+    @Benchmark
+    public boolean member_exists_missing() {
+        return memberRepository.exists("missing");
+    }
+
+    @Benchmark
+    public boolean log_exists() {
+        return logRepository.exists(randomName());
+    }
+
+    private String randomName() {
+        return "user_" + ThreadLocalRandom.current().nextInt(1, rows + 1);
+    }
+}
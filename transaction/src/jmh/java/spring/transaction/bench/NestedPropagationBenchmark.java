@@ -0,0 +1,69 @@
+package spring.transaction.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.transaction.propagation.MemberService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로그 실패 복구 구조 비교 - joinV2(REQUIRES_NEW) vs joinV3(NESTED, savepoint)
+ * * REQUIRES_NEW : 외부 트랜잭션 보류 + con 추가 획득/반납 + 별도 commit
+ * * NESTED       : 같은 con에서 flush + savepoint 생성/해제
+ * * _logFail : 로그 저장 실패(롤백) 경로
+ * * 스레드 수를 pool 크기 이상으로 올리면(-PjmhThreads=1,10,20) REQUIRES_NEW는 con 대기 시간이 더해짐
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NestedPropagationBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private MemberService memberService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        memberService = context.getBean(MemberService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void joinV2_requiresNew() {
+        memberService.joinV2(nextUsername());
+    }
+
+    @Benchmark
+    public void joinV3_nested() {
+        memberService.joinV3(nextUsername());
+    }
+
+    @Benchmark
+    public void joinV2_requiresNew_logFail() {
+        memberService.joinV2("로그예외_" + nextUsername());
+    }
+
+    @Benchmark
+    public void joinV3_nested_logFail() {
+        memberService.joinV3("로그예외_" + nextUsername());
+    }
+
+    private String nextUsername() {
+        return "bench_" + sequence.incrementAndGet();
+    }
+}
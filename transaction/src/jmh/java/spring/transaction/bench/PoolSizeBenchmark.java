@@ -0,0 +1,82 @@
+package spring.transaction.bench;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.transaction.executor.TransactionExecutor;
+import spring.transaction.propagation.MemberService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * pool 크기별 처리량 - pool 프로필(application-pool.properties) + maximum-pool-size만 바꿔서 실행
+ * * 동시 요청 REQUESTS개를 platform-threads 스레드로 실행, 요청마다 con 2개(joinV2 : member + log REQUIRES_NEW)
+ * * 작은 pool에서 REQUIRES_NEW deadlock이 나지 않도록 ConnectionBudgetTransactionManager 사용
+ * * 종료 시 con 획득 대기시간(hikaricp.connections.acquire) 출력 -> pool이 작으면 대기, 크면 처리량이 늘지 않음
+ *   ex) ./gradlew jmh -PjmhInclude=PoolSizeBenchmark -PjmhThreads=1
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PoolSizeBenchmark {
+
+    private static final int REQUESTS = 500;
+
+    @Param({"2", "4", "8", "16", "32", "64"})
+    public int poolSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private TransactionExecutor executor;
+    private MemberService memberService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "--spring.profiles.active=pool",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--tx.connection-budget.enabled=true",
+                "--tx.executor.platform-threads=64",
+                "--tx.executor.max-in-flight=64");
+        executor = context.getBean(TransactionExecutor.class);
+        memberService = context.getBean(MemberService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Timer acquire = context.getBean(MeterRegistry.class).find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            log.info("poolSize={} acquire count={} mean={}ms max={}ms", poolSize, acquire.count(),
+                    String.format("%.3f", acquire.mean(TimeUnit.MILLISECONDS)),
+                    String.format("%.3f", acquire.max(TimeUnit.MILLISECONDS)));
+        }
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void memberService_joinV2() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            String username = "bench_" + sequence.incrementAndGet();
+            futures[i] = executor.run(() -> memberService.joinV2(username));
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
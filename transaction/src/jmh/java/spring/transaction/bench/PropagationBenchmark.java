@@ -0,0 +1,138 @@
+package spring.transaction.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.transaction.propagation.Log;
+import spring.transaction.propagation.LogRepository;
+import spring.transaction.propagation.Member;
+import spring.transaction.propagation.MemberRepository;
+import spring.transaction.propagation.MemberService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전파 옵션별 비용
+ * 1. 프록시/interceptor : 직접 호출 vs 프록시(트랜잭션 없음) vs SUPPORTS vs REQUIRED vs REQUIRES_NEW
+ * 2. con 획득/반납, 빈 트랜잭션 commit (DataSourceTransactionManager)
+ * 3. 실제 호출 경로 : memberRepository.save(REQUIRED), logRepository.save(REQUIRES_NEW), memberService.joinV1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropagationBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final PropagationTargets directTargets = new PropagationTargets();
+
+    private ConfigurableApplicationContext context;
+    private PropagationTargets targets;
+    private TransactionTemplate requiredTemplate;
+    private DataSource dataSource;
+    private DataSourceTransactionManager dataSourceTxManager;
+    private MemberService memberService;
+    private MemberRepository memberRepository;
+    private LogRepository logRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        targets = context.getBean(PropagationTargets.class);
+        requiredTemplate = context.getBean(TransactionTemplate.class);
+        dataSource = context.getBean(DataSource.class);
+        dataSourceTxManager = new DataSourceTransactionManager(dataSource);
+        memberService = context.getBean(MemberService.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        logRepository = context.getBean(LogRepository.class);
+        memberService.joinV1("bench");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean direct() {
+        return directTargets.noTransaction();
+    }
+
+    @Benchmark
+    public boolean proxy_noTransaction() {
+        return targets.noTransaction();
+    }
+
+    @Benchmark
+    public boolean interceptor_supports() {
+        return targets.supports();
+    }
+
+    @Benchmark
+    public boolean interceptor_required() {
+        return targets.required();
+    }
+
+    @Benchmark
+    public boolean interceptor_requiresNew() {
+        return targets.requiresNew();
+    }
+
+    //외부 REQUIRED 안에서 REQUIRES_NEW - 외부 con 보류 + 추가 con 획득
+    @Benchmark
+    public Boolean required_then_requiresNew() {
+        return requiredTemplate.execute(status -> targets.requiresNew());
+    }
+
+    @Benchmark
+    public boolean connection_acquireRelease() throws SQLException {
+        try (Connection con = dataSource.getConnection()) {
+            return con.getAutoCommit();
+        }
+    }
+
+    @Benchmark
+    public void connection_emptyCommit() {
+        TransactionStatus status = dataSourceTxManager.getTransaction(new DefaultTransactionDefinition());
+        dataSourceTxManager.commit(status);
+    }
+
+    @Benchmark
+    public void memberRepository_save_required() {
+        memberRepository.save(new Member(nextUsername()));
+    }
+
+    @Benchmark
+    public void logRepository_save_requiresNew() {
+        logRepository.save(new Log(nextUsername()));
+    }
+
+    @Benchmark
+    public void memberService_joinV1() {
+        memberService.joinV1(nextUsername());
+    }
+
+    @Benchmark
+    public Optional<Member> memberRepository_find() {
+        return memberRepository.find("bench");
+    }
+
+    private String nextUsername() {
+        return "bench_" + sequence.incrementAndGet();
+    }
+}
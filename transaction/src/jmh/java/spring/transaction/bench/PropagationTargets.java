@@ -0,0 +1,34 @@
+package spring.transaction.bench;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 비즈니스 로직 없이 프록시/TransactionInterceptor/con 획득 비용만 측정하기 위한 대상
+ * * @Transactional 메서드가 있으므로 CGLIB 프록시로 등록 -> noTransaction()은 프록시를 거치지만 interceptor는 없음
+ */
+@Component
+public class PropagationTargets {
+
+    public boolean noTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    //트랜잭션이 없으면 con 없이 진행 - interceptor 자체의 비용
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean supports() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    @Transactional
+    public boolean required() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean requiresNew() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+}
@@ -0,0 +1,79 @@
+package spring.transaction.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import spring.transaction.order.NotEnoughMoneyException;
+import spring.transaction.order.Order;
+import spring.transaction.order.OrderService;
+import spring.transaction.propagation.MemberService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프록시 모드 vs 컴파일 시점 위빙 모드의 지연시간 비교
+ * - 프록시 모드 : ./gradlew jmh -PjmhInclude=WeavingBenchmark
+ * - 위빙 모드   : ./gradlew jmh -PjmhInclude=WeavingBenchmark -PtxWeaving
+ * 두 결과의 같은 벤치마크끼리 비교 (internalCall은 프록시 모드에서 트랜잭션이 없으므로 참고용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WeavingBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private CallTargets callTargets;
+    private MemberService memberService;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        callTargets = context.getBean(CallTargets.class);
+        memberService = context.getBean(MemberService.class);
+        orderService = context.getBean(OrderService.class);
+
+        //위빙 모드에서 jmh 소스셋이 위빙되지 않았다면 internalCall은 아무것도 측정하지 않음
+        if ("aspectj".equals(System.getProperty("tx.mode")) && !callTargets.internalCall()) {
+            throw new IllegalStateException("CallTargets가 위빙되지 않았습니다. jmhAspect 설정을 확인하세요.");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean internalCall() {
+        return callTargets.internalCall();
+    }
+
+    @Benchmark
+    public boolean splitCall() {
+        return callTargets.splitCall();
+    }
+
+    @Benchmark
+    public void memberService_joinV1() {
+        memberService.joinV1("weaving_" + sequence.incrementAndGet());
+    }
+
+    @Benchmark
+    public Order orderService_order() throws NotEnoughMoneyException {
+        Order order = new Order();
+        order.setUnsername("정상");
+        orderService.order(order);
+        return order;
+    }
+}
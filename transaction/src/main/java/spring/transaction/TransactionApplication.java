@@ -2,8 +2,11 @@ package spring.transaction;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+//R2DBC(ReactiveOrderConfig)는 ConnectionFactory를 빈으로 등록하지 않고 직접 사용 -> 자동 설정만 제외
+// * R2dbcTransactionManager 자동 설정은 ConnectionFactory 빈이 없으면 동작하지 않음
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class TransactionApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,112 @@
+package spring.transaction.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.function.ToLongFunction;
+
+/**
+ * 2차 캐시/쿼리 캐시 hit, miss, put, eviction 수
+ * * hit/miss/put : Hibernate Statistics (hibernate.generate_statistics=true)
+ * * eviction     : Caffeine JCache의 JMX CacheStatisticsMXBean (크기/시간 기준으로 제거된 수)
+ * * 엔티티 region 이름은 엔티티 클래스 이름 (ex. spring.transaction.propagation.Member)
+ * * MeterBinder -> 트랜잭션 메트릭(tx.*)과 같은 MeterRegistry에 FunctionCounter로 등록
+ *   - cache.second-level.hits/misses/puts/evictions (tag region)
+ *   - cache.query.hits/misses
+ */
+@Slf4j
+@Component
+@Profile("cache")
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String regionName : statistics().getSecondLevelCacheRegionNames()) {
+            regionCounter(registry, "cache.second-level.hits", regionName, this::hitCount);
+            regionCounter(registry, "cache.second-level.misses", regionName, this::missCount);
+            regionCounter(registry, "cache.second-level.puts", regionName, this::putCount);
+            regionCounter(registry, "cache.second-level.evictions", regionName, this::evictionCount);
+        }
+        FunctionCounter.builder("cache.query.hits", this, SecondLevelCacheMetrics::queryCacheHitCount)
+                .description("쿼리 캐시 hit 수")
+                .register(registry);
+        FunctionCounter.builder("cache.query.misses", this, SecondLevelCacheMetrics::queryCacheMissCount)
+                .description("쿼리 캐시 miss 수")
+                .register(registry);
+    }
+
+    private void regionCounter(MeterRegistry registry, String name, String regionName,
+                               ToLongFunction<String> count) {
+        FunctionCounter.builder(name, regionName, count::applyAsLong)
+                .tag("region", regionName)
+                .register(registry);
+    }
+
+    public long hitCount(String regionName) {
+        CacheRegionStatistics region = regionStatistics(regionName);
+        return region != null ? region.getHitCount() : 0;
+    }
+
+    public long missCount(String regionName) {
+        CacheRegionStatistics region = regionStatistics(regionName);
+        return region != null ? region.getMissCount() : 0;
+    }
+
+    public long putCount(String regionName) {
+        CacheRegionStatistics region = regionStatistics(regionName);
+        return region != null ? region.getPutCount() : 0;
+    }
+
+    public long queryCacheHitCount() {
+        return statistics().getQueryCacheHitCount();
+    }
+
+    public long queryCacheMissCount() {
+        return statistics().getQueryCacheMissCount();
+    }
+
+    public long evictionCount(String regionName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName pattern = new ObjectName("javax.cache:type=CacheStatistics,Cache=" + regionName + ",*");
+            long evictions = 0;
+            for (ObjectName name : server.queryNames(pattern, null)) {
+                evictions += (Long) server.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        } catch (JMException e) {
+            log.warn("cache eviction 통계 조회 실패 region={}", regionName, e);
+            return 0;
+        }
+    }
+
+    private CacheRegionStatistics regionStatistics(String regionName) {
+        Statistics statistics = statistics();
+        if (QUERY_RESULTS_REGION.equals(regionName)) {
+            return statistics.getQueryRegionStatistics(regionName);
+        }
+        return statistics.getDomainDataRegionStatistics(regionName);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,62 @@
+package spring.transaction.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 모든 Hikari pool의 acquire/usage/creation 타이머, timeout 카운터를 MeterRegistry에 등록
+ * * 스프링 부트는 DataSource 빈이 HikariDataSource인 경우만 등록
+ *   -> LazyConnectionDataSourceProxy, ReplicaRoutingDataSource 안쪽의 pool(primary, replica)은 메트릭이 없음
+ * * 이미 metricsTrackerFactory가 설정된 pool은 그대로 둠 (스프링 부트가 등록한 경우)
+ * * 히스토그램/백분위는 management.metrics.distribution.*.hikaricp.connections 로 설정 (application-pool.properties)
+ */
+@Slf4j
+@Configuration
+public class HikariMetricsConfig {
+
+    @Bean
+    public MeterBinder hikariPoolMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .flatMap(dataSource -> hikariPools(dataSource).stream())
+                .distinct()
+                .forEach(pool -> bind(pool, registry));
+    }
+
+    private void bind(HikariDataSource pool, MeterRegistry registry) {
+        if (pool.getMetricRegistry() != null || pool.getMetricsTrackerFactory() != null) {
+            return;
+        }
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        log.info("Hikari pool 메트릭 등록 pool={}", pool.getPoolName());
+    }
+
+    //프록시/라우팅 DataSource를 따라가며 실제 Hikari pool을 찾음
+    static Set<HikariDataSource> hikariPools(DataSource dataSource) {
+        Set<HikariDataSource> pools = new LinkedHashSet<>();
+        collect(dataSource, pools);
+        return pools;
+    }
+
+    private static void collect(DataSource dataSource, Set<HikariDataSource> pools) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            pools.add(hikari);
+        } else if (dataSource instanceof DelegatingDataSource delegating
+                && delegating.getTargetDataSource() != null) {
+            collect(delegating.getTargetDataSource(), pools);
+        } else if (dataSource instanceof AbstractRoutingDataSource routing) {
+            routing.getResolvedDataSources().values().forEach(target -> collect(target, pools));
+        }
+    }
+}
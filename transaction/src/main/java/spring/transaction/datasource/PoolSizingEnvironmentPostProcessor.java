@@ -0,0 +1,70 @@
+package spring.transaction.datasource;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * pool.sizing.enabled=true 인 경우 Hikari pool 크기를 CPU 코어 수와 REQUIRES_NEW 깊이로 계산
+ * * 기본 크기 = (코어 수 * 2) + effective-spindles
+ *   -> 동시에 실행할 최상위 트랜잭션 수 (그 이상은 DB 쪽에서 경합만 늘어남)
+ * * 스레드 하나가 con을 requires-new-depth 개까지 동시에 점유 (joinV2 : member + log = 2)
+ *   -> deadlock이 없으려면 pool 크기 >= 스레드 수 * (depth - 1) + 1
+ * * spring.datasource.hikari.maximum-pool-size를 직접 설정하면 계산값 대신 설정값 사용
+ *
+ * 프로퍼티로 등록하므로 pool 크기를 읽는 다른 설정(ConnectionBudgetConfig, TransactionExecutorConfig)도 같은 값을 사용
+ * * 프로필 프로퍼티(application-pool.properties)를 읽은 뒤에 실행되도록 LOWEST_PRECEDENCE
+ */
+public class PoolSizingEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+    static final String MINIMUM_IDLE = "spring.datasource.hikari.minimum-idle";
+
+    private final Log log;
+
+    public PoolSizingEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(PoolSizingEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty("pool.sizing.enabled", Boolean.class, false)) {
+            return;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        int spindles = environment.getProperty("pool.sizing.effective-spindles", Integer.class, 1);
+        int depth = environment.getProperty("pool.sizing.requires-new-depth", Integer.class, 2);
+        int size = poolSize(cores, spindles, depth);
+
+        //addLast -> 직접 설정한 값이 항상 우선
+        // * minimum-idle = maximum-pool-size : 고정 크기 pool (부하가 몰릴 때 con 생성 비용 없음)
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(MAXIMUM_POOL_SIZE, size);
+        properties.put(MINIMUM_IDLE, environment.getProperty(MAXIMUM_POOL_SIZE, Integer.class, size));
+        environment.getPropertySources().addLast(new MapPropertySource("poolSizing", properties));
+
+        log.info("pool 크기 계산 cores=" + cores + ", spindles=" + spindles + ", requiresNewDepth=" + depth
+                + " -> " + size + ", 적용=" + environment.getProperty(MAXIMUM_POOL_SIZE));
+    }
+
+    static int poolSize(int cores, int effectiveSpindles, int requiresNewDepth) {
+        if (cores < 1 || effectiveSpindles < 0 || requiresNewDepth < 1) {
+            throw new IllegalArgumentException("cores=" + cores + ", effectiveSpindles=" + effectiveSpindles
+                    + ", requiresNewDepth=" + requiresNewDepth);
+        }
+        int threads = cores * 2 + effectiveSpindles;
+        return Math.max(threads, threads * (requiresNewDepth - 1) + 1);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,121 @@
+package spring.transaction.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Transactional(readOnly = true) 트랜잭션은 replica로, 나머지는 primary로 보내는 DataSource
+ *
+ * * con 획득 시점에 TransactionSynchronizationManager의 readOnly 여부로 판단
+ *   -> 트랜잭션 매니저는 readOnly 설정 전에 con을 획득하므로 LazyConnectionDataSourceProxy로 감싸서 사용해야 함
+ *      (실제 con 획득을 첫 쿼리 실행 시점으로 미룸)
+ * * replica 선택은 round-robin, 허용 지연(maxLag)을 넘은 replica는 제외 -> 사용할 replica가 없으면 primary
+ * * 쓰기 트랜잭션 직후 stickyWindow 동안은 같은 스레드의 읽기도 primary로 (방금 쓴 데이터가 replica에 아직 없을 수 있음)
+ *   -> 기준 시각은 쓰기 트랜잭션의 commit 시점 (afterCommit) - con 획득 시점이 아니므로 긴 쓰기 트랜잭션도 commit 이후부터 보호
+ *   -> 롤백된 쓰기 트랜잭션은 기록하지 않음
+ *   -> 스레드 단위 (ThreadLocal) : commit 한 스레드의 읽기만 primary로 감
+ *      다른 스레드(비동기 작업, 다음 HTTP 요청 등)에서 읽는다면 보호되지 않음
+ *      -> 그 스레드에서 markWritten() 호출 또는 해당 읽기를 readOnly가 아닌 트랜잭션으로 실행
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final long maxLagMillis;
+    private final long stickyWindowNanos;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> replicaLagMillis = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> lastWriteNanos = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration maxLag, Duration stickyWindow) {
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.maxLagMillis = maxLag.toMillis();
+        this.stickyWindowNanos = stickyWindow.toNanos();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * replica 지연 시간 갱신 (모니터링 등 외부에서 주기적으로 호출)
+     */
+    public void reportLag(String replicaKey, Duration lag) {
+        replicaLagMillis.put(replicaKey, lag.toMillis());
+    }
+
+    public String currentLookupKey() {
+        return (String) determineCurrentLookupKey();
+    }
+
+    /**
+     * 현재 스레드의 읽기를 지금부터 stickyWindow 동안 primary로 보냄
+     * * 다른 스레드에서 commit 한 쓰기를 이 스레드에서 바로 읽어야 하는 경우 직접 호출
+     */
+    public void markWritten() {
+        lastWriteNanos.set(System.nanoTime());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWriteOnCommit();
+            }
+            return PRIMARY;
+        }
+
+        Long lastWrite = lastWriteNanos.get();
+        if (lastWrite != null) {
+            if (System.nanoTime() - lastWrite < stickyWindowNanos) {
+                return PRIMARY;
+            }
+            lastWriteNanos.remove();
+        }
+
+        return selectReplica();
+    }
+
+    //트랜잭션당 con 획득은 한 번 (LazyConnectionDataSourceProxy) -> commit 시점 기록도 트랜잭션당 한 번
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markWritten();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markWritten();
+            }
+        });
+    }
+
+    private String selectReplica() {
+        int size = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (replicaLagMillis.getOrDefault(key, 0L) <= maxLagMillis) {
+                return key;
+            }
+        }
+        log.debug("사용 가능한 replica 없음 - primary로 읽기");
+        return PRIMARY;
+    }
+}
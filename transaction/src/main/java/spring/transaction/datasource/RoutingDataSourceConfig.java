@@ -0,0 +1,74 @@
+package spring.transaction.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * datasource.routing.enabled=true 인 경우 primary(spring.datasource.*) + replica(datasource.routing.replicas) 구성
+ * -> 직접 등록한 DataSource가 있으므로 스프링 부트의 DataSource 자동 등록은 생략됨
+ * * replica의 스키마/데이터는 DB 복제로 채워진다고 가정 (ddl-auto는 primary에만 적용)
+ * * 모든 pool에 spring.datasource.hikari.* 설정을 바인딩 - 자동 등록 DataSource와 같은 pool 설정(크기, timeout, auto-commit 등)
+ *   -> DataSourceBuilder는 url/username/password만 설정하므로 직접 바인딩하지 않으면 Hikari 기본값으로 동작
+ *   -> replica의 pool-name은 replica0, replica1 ... (메트릭/JMX에서 primary와 구분)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${datasource.routing.replicas}") List<String> replicaUrls,
+            @Value("${datasource.routing.max-lag-ms:1000}") long maxLagMs,
+            @Value("${datasource.routing.sticky-primary-ms:1000}") long stickyPrimaryMs) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = bindHikari(binder,
+                properties.initializeDataSourceBuilder().type(HikariDataSource.class).build());
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = bindHikari(binder, DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i))
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build());
+            replica.setPoolName("replica" + i);
+            replicas.put("replica" + i, replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas,
+                Duration.ofMillis(maxLagMs), Duration.ofMillis(stickyPrimaryMs));
+    }
+
+    //스프링 부트의 자동 등록 DataSource(@ConfigurationProperties("spring.datasource.hikari"))와 같은 바인딩
+    static HikariDataSource bindHikari(Binder binder, HikariDataSource dataSource) {
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+
+    //readOnly 여부가 정해진 뒤(첫 쿼리 시점)에 routing 되도록 Lazy 프록시로 노출
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,61 @@
+package spring.transaction.datasource;
+
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * pool의 auto-commit=false 설정을 믿고 트랜잭션마다 auto-commit을 확인/전환하지 않는 DataSource
+ *
+ * * DataSourceTransactionManager는 트랜잭션 시작마다 con.getAutoCommit() 확인
+ *   -> true면 setAutoCommit(false) (로그 : Switching JDBC Connection to manual commit), 반납 시 setAutoCommit(true)
+ *   -> 드라이버 왕복이 트랜잭션마다 최대 3번 추가
+ * * DataSource를 LazyConnectionDataSourceProxy(defaultAutoCommit=false)로 감쌈
+ *   -> auto-commit, isolation, readOnly 확인/설정은 프록시가 값만 기록하고 실제 con에는 기본값과 다를 때만 반영
+ *   -> 이미 요청한 상태(pool 기본값)라면 시작/반납 시점의 설정 변경이 실제 con으로 전달되지 않음
+ *   -> SQL을 실행하지 않은 트랜잭션은 pool에서 con을 꺼내지도 않음 (commit/rollback도 생략)
+ * * pool이 실제로 auto-commit=true 라면 모든 SQL이 즉시 commit 되므로 생성 시점에 검증 후 실패
+ *
+ * 사용
+ *  -> 애플리케이션 전체 : datasource.trusted-autocommit.enabled=true (DataSource 빈 자체를 교체, TrustedAutoCommitDataSourceConfig)
+ *  -> JDBC 전용 트랜잭션 매니저 하나만 : TrustedAutoCommitTransactionManager
+ */
+public final class TrustedAutoCommitDataSource {
+
+    private TrustedAutoCommitDataSource() {
+    }
+
+    /**
+     * pool의 auto-commit=false 검증 후 auto-commit 확인/전환을 생략하는 프록시 반환
+     * * 이미 LazyConnectionDataSourceProxy라면 그대로 사용 (ex. RoutingDataSourceConfig의 dataSource)
+     */
+    public static LazyConnectionDataSourceProxy wrap(DataSource dataSource) {
+        if (dataSource instanceof LazyConnectionDataSourceProxy lazy) {
+            checkAutoCommitDisabled(lazy.getTargetDataSource());
+            lazy.setDefaultAutoCommit(false);
+            return lazy;
+        }
+        checkAutoCommitDisabled(dataSource);
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy();
+        lazy.setTargetDataSource(dataSource);
+        lazy.setDefaultAutoCommit(false);
+        //defaultTransactionIsolation은 con 하나를 꺼내서 확인
+        lazy.afterPropertiesSet();
+        return lazy;
+    }
+
+    private static void checkAutoCommitDisabled(DataSource dataSource) {
+        try (Connection con = dataSource.getConnection()) {
+            if (con.getAutoCommit()) {
+                throw new IllegalStateException("pool에서 꺼낸 con이 auto-commit=true 입니다."
+                        + " pool 설정에 auto-commit=false 가 필요합니다 (spring.datasource.hikari.auto-commit=false)."
+                        + " dataSource=" + dataSource);
+            }
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("auto-commit 설정을 확인할 con을 획득하지 못했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package spring.transaction.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * datasource.trusted-autocommit.enabled=true 인 경우 Hikari DataSource 빈을 auto-commit 확인/전환을 생략하는 프록시로 교체
+ * * 트랜잭션 매니저는 바꾸지 않음 - 애플리케이션은 그대로 JpaTransactionManager 사용
+ *   -> DataSource 설정이므로 JPA(Hibernate), JdbcTemplate, DataSourceTransactionManager 모두 같은 프록시를 사용 (같은 트랜잭션 키)
+ *   -> JPA 경로는 hibernate.connection.provider_disables_autocommit=true 와 함께 사용 (pool 프로필)
+ * * RoutingDataSourceConfig가 등록한 LazyConnectionDataSourceProxy는 감싸지 않고 defaultAutoCommit만 설정
+ *   -> routing 대상 pool도 spring.datasource.hikari.auto-commit=false 로 바인딩됨 (RoutingDataSourceConfig)
+ * * pool이 auto-commit=true 라면 애플리케이션 시작 실패 (TrustedAutoCommitDataSource)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.trusted-autocommit.enabled", havingValue = "true")
+public class TrustedAutoCommitDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor trustedAutoCommitPostProcessor() {
+        return new TrustedAutoCommitPostProcessor();
+    }
+
+    static class TrustedAutoCommitPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof HikariDataSource || bean instanceof LazyConnectionDataSourceProxy) {
+                return TrustedAutoCommitDataSource.wrap((DataSource) bean);
+            }
+            return bean;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package spring.transaction.exception;
+
+/**
+ * 비즈니스 규칙에 따른 결과를 알리는 CheckedException의 상위 타입 (ex. 잔고부족)
+ * * 시스템 오류가 아닌 정상적인 비즈니스 흐름에서 자주 발생 -> 스택 트레이스가 필요 없음
+ *   -> 기본적으로 스택 트레이스를 만들지 않음 (fillInStackTrace()에서 스레드 스택을 따라가는 비용 제거)
+ * * 디버깅 등으로 필요하면 tx.business-exception.stack-trace=true (BusinessExceptionConfig)
+ * * CheckedException이므로 @Transactional 기본 규칙 그대로 commit
+ */
+public abstract class BusinessException extends Exception {
+
+    private static volatile boolean stackTraceEnabled = false;
+
+    protected BusinessException(String message) {
+        super(message, null, false, stackTraceEnabled);
+    }
+
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+
+    public static boolean isStackTraceEnabled() {
+        return stackTraceEnabled;
+    }
+}
@@ -0,0 +1,32 @@
+package spring.transaction.exception;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * tx.business-exception.stack-trace 설정을 BusinessException에 반영
+ * * 예외는 빈이 아니므로 생성 시점에 참조하는 static 설정으로 전달
+ * * static 값은 JVM 전체에서 하나 -> 컨텍스트가 시작될 때 한 번 바꾸고, 닫힐 때 이전 값으로 되돌림
+ *   -> 같은 JVM에서 설정이 다른 컨텍스트를 차례로 띄워도(테스트, 벤치마크 @Param) 앞 컨텍스트의 값이 남지 않음
+ */
+@Configuration
+public class BusinessExceptionConfig implements InitializingBean, DisposableBean {
+
+    @Value("${tx.business-exception.stack-trace:false}")
+    private boolean stackTraceEnabled;
+
+    private boolean previous;
+
+    @Override
+    public void afterPropertiesSet() {
+        previous = BusinessException.isStackTraceEnabled();
+        BusinessException.setStackTraceEnabled(stackTraceEnabled);
+    }
+
+    @Override
+    public void destroy() {
+        BusinessException.setStackTraceEnabled(previous);
+    }
+}
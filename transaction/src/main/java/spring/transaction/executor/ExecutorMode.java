@@ -0,0 +1,6 @@
+package spring.transaction.executor;
+
+public enum ExecutorMode {
+    PLATFORM, //고정 크기 플랫폼 스레드 풀
+    VIRTUAL   //요청마다 가상 스레드 (Java 21+), 지원하지 않는 JVM에서는 PLATFORM으로 동작
+}
@@ -0,0 +1,113 @@
+package spring.transaction.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 트랜잭션 서비스 호출(MemberService, OrderService ...)을 별도 스레드에서 실행하는 executor
+ *
+ * * VIRTUAL : 요청마다 가상 스레드 -> 동시 요청 수천 개도 플랫폼 스레드 수천 개 없이 처리
+ *   - 빌드는 Java 17이므로 Executors.newVirtualThreadPerTaskExecutor()를 리플렉션으로 호출
+ *   - 실행 JVM이 가상 스레드를 지원하지 않으면 경고 후 PLATFORM으로 동작
+ * * 동시에 실행 중인 트랜잭션 수를 maxInFlight(= pool 크기)로 제한
+ *   -> con이 없어서 Hikari getConnection() 안에서 대기하는 스레드가 생기지 않음
+ *   -> 대기는 Semaphore(j.u.c 락 기반)에서만 발생 - 가상 스레드는 carrier를 반납하고 park (synchronized 대기처럼 pinning 되지 않음)
+ * * TransactionSynchronizationManager의 ThreadLocal은 가상 스레드에서도 스레드별로 동작
+ *   - 작업 하나 = 스레드 하나이므로 트랜잭션 리소스가 다른 작업으로 새지 않음
+ * * REQUIRES_NEW처럼 한 작업이 con을 2개 쓰는 경우 pool 크기만큼 동시에 실행되면 다시 pool deadlock 가능
+ *   -> maxInFlight를 (pool 크기 - 예약) 으로 낮추거나 ConnectionBudgetTransactionManager와 함께 사용
+ */
+@Slf4j
+public class TransactionExecutor implements DisposableBean {
+
+    private final ExecutorMode mode;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    public TransactionExecutor(ExecutorMode mode, int platformThreads, int maxInFlight) {
+        ExecutorService virtual = mode == ExecutorMode.VIRTUAL ? newVirtualThreadExecutor() : null;
+        this.mode = virtual != null ? ExecutorMode.VIRTUAL : ExecutorMode.PLATFORM;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(platformThreads);
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight, true);
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+                return;
+            }
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                running.decrementAndGet();
+                inFlight.release();
+            }
+        });
+        return future;
+    }
+
+    public CompletableFuture<Void> run(Runnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    //실제 동작 중인 모드 - VIRTUAL을 요청해도 JVM이 지원하지 않으면 PLATFORM
+    public ExecutorMode getMode() {
+        return mode;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    //지금까지 동시에 실행된 트랜잭션 수의 최댓값
+    public int getMaxRunning() {
+        return maxRunning.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            log.warn("가상 스레드를 지원하지 않는 JVM입니다. 플랫폼 스레드로 실행합니다. java.version={}",
+                    System.getProperty("java.version"));
+            return null;
+        } catch (InvocationTargetException e) {
+            //Java 19/20 - preview 기능을 켜지 않으면 UnsupportedOperationException
+            log.warn("가상 스레드를 생성할 수 없습니다. 플랫폼 스레드로 실행합니다. cause={}", e.getCause().toString());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package spring.transaction.executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * tx.executor.mode (PLATFORM / VIRTUAL)
+ * * max-in-flight 기본값 = Hikari pool 크기 / REQUIRES_NEW 깊이(pool.sizing.requires-new-depth)
+ *   -> joinV1/joinV2처럼 요청 하나가 con을 depth개까지 동시에 점유하므로 pool 크기만큼 시작하면
+ *      모든 요청이 첫 con을 잡은 채 두 번째 con을 기다리는 pool deadlock 발생
+ *   -> 동시에 실행하는 요청이 pool 크기 / depth 이하면 항상 모든 요청이 필요한 con을 얻을 수 있음
+ */
+@Configuration
+public class TransactionExecutorConfig {
+
+    @Bean
+    public TransactionExecutor transactionExecutor(
+            @Value("${tx.executor.mode:PLATFORM}") ExecutorMode mode,
+            @Value("${tx.executor.platform-threads:200}") int platformThreads,
+            @Value("${tx.executor.max-in-flight:0}") int maxInFlight,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${pool.sizing.requires-new-depth:2}") int requiresNewDepth) {
+        int limit = maxInFlight > 0 ? maxInFlight : defaultMaxInFlight(poolSize, requiresNewDepth);
+        return new TransactionExecutor(mode, platformThreads, limit);
+    }
+
+    static int defaultMaxInFlight(int poolSize, int requiresNewDepth) {
+        return Math.max(1, poolSize / Math.max(1, requiresNewDepth));
+    }
+}
@@ -0,0 +1,92 @@
+package spring.transaction.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import spring.transaction.propagation.Log;
+import spring.transaction.propagation.LogRepository;
+import spring.transaction.propagation.Member;
+import spring.transaction.propagation.MemberRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * member/log 전체 export (CSV, NDJSON)
+ * * readOnly 트랜잭션 하나 안에서 repository의 Stream(커서)을 끝까지 소비
+ *   -> 커서가 열려있는 동안 con을 점유하므로 Stream은 반드시 닫음 (try-with-resources)
+ * * 한 줄씩 바로 Writer로 내보내고 엔티티는 repository에서 detach -> 건수와 관계없이 heap 사용량 일정
+ * * 버퍼링/flush 시점은 호출하는 쪽의 Writer(BufferedWriter 등)가 결정
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private final MemberRepository memberRepository;
+    private final LogRepository logRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportMembersCsv(Writer writer) {
+        try (Stream<Member> members = memberRepository.streamAll()) {
+            writeLine(writer, "id,username");
+            long count = members.mapToLong(member -> {
+                writeLine(writer, member.getId() + "," + csv(member.getUsername()));
+                return 1;
+            }).sum();
+            log.info("member export size={}", count);
+            return count;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportLogsNdjson(String messagePrefix, Writer writer) {
+        try (Stream<Log> logs = logRepository.streamByMessagePrefix(messagePrefix)) {
+            long count = logs.mapToLong(logMessage -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("id", logMessage.getId());
+                row.put("message", logMessage.getMessage());
+                writeLine(writer, json(row));
+                return 1;
+            }).sum();
+            log.info("log export prefix={}, size={}", messagePrefix, count);
+            return count;
+        }
+    }
+
+    //쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private String json(Map<String, Object> row) {
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("json 변환 실패", e);
+        }
+    }
+
+    private void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package spring.transaction.groupcommit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 여러 스레드의 짧은 트랜잭션을 하나의 물리 트랜잭션(commit 한 번)으로 묶어서 실행 (GroupCommitter)
+ * * 호출 스레드에 진행 중인 트랜잭션이 있으면 묶지 않고 기존처럼 참여
+ * * 메서드의 @Transactional 설정 중 롤백 규칙(rollbackFor 등)만 적용 - 격리 수준, timeout, readOnly는 그룹 트랜잭션을 따름
+ * * 메서드 안의 DB 작업은 모두 호출 트랜잭션에 참여해야 함 (REQUIRES_NEW X)
+ *   -> 그룹이 통째로 롤백되면 아직 실행하지 않은 요청을 다시 실행하므로, 별도로 commit 된 작업은 중복될 수 있음
+ * * 주의 - 단독 @Transactional과 다른 점
+ *   - 요청 하나가 그룹 트랜잭션을 rollback-only로 만들면 (flush 실패 - 제약조건 위반 등, 참여 트랜잭션의 롤백)
+ *     savepoint로 복구할 수 없어서 그룹 전체 롤백
+ *   - 이때 같은 그룹에서 먼저 실행된(문제 없는) 요청도 UnexpectedRollbackException으로 실패 - 자동으로 다시 실행하지 않음
+ *     -> 실행 중에 인자가 바뀌었을 수 있음 (ex. 할당된 id/version) - 같은 인자로 재실행하는 것이 안전한지 알 수 없음
+ *   - 호출자는 UnexpectedRollbackException을 재시도 가능한 실패로 처리해야 함 (단독 트랜잭션이었다면 성공했을 요청)
+ * * 메서드는 committer 스레드에서 실행 -> 호출 스레드의 ThreadLocal(MDC 등)은 전달되지 않음
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface GroupCommit {
+}
@@ -0,0 +1,52 @@
+package spring.transaction.groupcommit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+/**
+ * @GroupCommit 메서드에 GroupCommitInterceptor 적용
+ * * advisor 순서 HIGHEST_PRECEDENCE -> 트랜잭션 advisor(LOWEST_PRECEDENCE)보다 바깥
+ * * tx.group-commit.window-micros : 첫 요청 이후 추가 요청을 기다리는 시간
+ * * tx.group-commit.max-batch     : 그룹 하나에 묶을 최대 요청 수
+ * * 요청마다 savepoint가 필요 -> JPA savepoint(JpaSavepointConfig, tx.jpa-savepoint.enabled)가 켜진 경우에만 등록
+ *   -> 꺼져 있으면 @GroupCommit은 무시되고 메서드의 @Transactional대로 하나씩 commit
+ */
+@Configuration
+@ConditionalOnProperty(name = "tx.jpa-savepoint.enabled", havingValue = "true", matchIfMissing = true)
+public class GroupCommitConfig {
+
+    @Bean
+    public GroupCommitter groupCommitter(ObjectProvider<PlatformTransactionManager> transactionManager,
+                                         ObjectProvider<TransactionAttributeSource> transactionAttributeSource,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${tx.group-commit.window-micros:200}") long windowMicros,
+                                         @Value("${tx.group-commit.max-batch:64}") int maxBatch) {
+        //AspectJ 위빙 모드에는 transactionAttributeSource 빈이 없으므로 직접 생성
+        return new GroupCommitter(transactionManager::getObject,
+                transactionAttributeSource.getIfAvailable(AnnotationTransactionAttributeSource::new),
+                windowMicros, maxBatch, meterRegistry);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor groupCommitAdvisor(GroupCommitter groupCommitter) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, GroupCommit.class, true),
+                new GroupCommitInterceptor(groupCommitter));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
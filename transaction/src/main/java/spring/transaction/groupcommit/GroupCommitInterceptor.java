@@ -0,0 +1,37 @@
+package spring.transaction.groupcommit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * @GroupCommit 메서드 호출을 GroupCommitter에 넘기고 결과를 기다림
+ * * TransactionInterceptor보다 먼저(바깥에서) 실행
+ * * 호출 스레드에 이미 트랜잭션이 있으면 그룹으로 묶지 않고 그대로 진행 (기존 트랜잭션에 참여)
+ */
+public class GroupCommitInterceptor implements MethodInterceptor {
+
+    private final GroupCommitter committer;
+
+    public GroupCommitInterceptor(GroupCommitter committer) {
+        this.committer = committer;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        try {
+            return committer.submit(invocation).get();
+        } catch (ExecutionException | CompletionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+}
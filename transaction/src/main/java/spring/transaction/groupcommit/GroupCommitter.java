@@ -0,0 +1,296 @@
+package spring.transaction.groupcommit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * @GroupCommit 요청을 모아서 하나의 트랜잭션으로 실행하는 committer
+ *
+ * * committer 스레드가 첫 요청을 받은 뒤 window 동안(또는 maxBatch 만큼) 요청을 더 모음
+ * * 그룹 트랜잭션 하나 안에서 요청마다 savepoint -> 요청 하나의 실패는 해당 savepoint까지만 롤백
+ * * commit 한 번 = DB의 로그 flush 한 번 -> 짧은 쓰기 트랜잭션이 몰릴 때 commit 처리량 증가
+ * * 각 요청의 결과(반환값/예외)는 그룹 commit 이후에 호출 스레드로 전달 - commit 실패 시 그룹 전체 실패
+ * * 요청 안의 참여 트랜잭션(REQUIRED)이나 flush가 실패해서 그룹 트랜잭션이 rollback-only가 되면
+ *   -> 그룹 전체 롤백, 실패한 요청과 이미 실행한 요청은 예외로 완료하고 아직 실행하지 않은 요청만 새 그룹으로 실행
+ */
+@Slf4j
+public class GroupCommitter implements InitializingBean, DisposableBean {
+
+    private final Supplier<PlatformTransactionManager> txManager;
+    private final TransactionAttributeSource attributeSource;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final DistributionSummary groupSize;
+    private final BlockingQueue<Unit> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread committer;
+
+    public GroupCommitter(Supplier<PlatformTransactionManager> txManager, TransactionAttributeSource attributeSource,
+                          long windowMicros, int maxBatch, MeterRegistry registry) {
+        this.txManager = txManager;
+        this.attributeSource = attributeSource;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatch = maxBatch;
+        this.groupSize = DistributionSummary.builder("tx.group-commit.size")
+                .description("그룹 commit 하나에 묶인 요청 수")
+                .register(registry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        committer = new Thread(this::commitLoop, "group-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        committer.interrupt();
+        committer.join(5000);
+    }
+
+    public CompletableFuture<Object> submit(MethodInvocation invocation) {
+        Unit unit = new Unit(invocation, rollbackRules(invocation));
+        if (!running) {
+            unit.result.completeExceptionally(new IllegalStateException("group committer가 종료되었습니다."));
+            return unit.result;
+        }
+        queue.add(unit);
+        return unit.result;
+    }
+
+    private void commitLoop() {
+        List<Unit> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Unit first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                commitGroup(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    //window 동안 maxBatch 만큼 모일 때까지 추가로 대기
+    private void collect(List<Unit> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatch) {
+            queue.drainTo(batch, maxBatch - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatch || remaining <= 0) {
+                return;
+            }
+            Unit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commitGroup(List<Unit> units) {
+        List<Unit> pending = units;
+        while (!pending.isEmpty()) {
+            try {
+                pending = runGroup(pending);
+            } catch (RuntimeException | Error e) {
+                //트랜잭션 시작, savepoint 생성/롤백 실패 등 - 그룹의 모든 요청 실패
+                log.warn("group commit 실행 실패 size={}", pending.size(), e);
+                pending.forEach(unit -> unit.result.completeExceptionally(e));
+                return;
+            }
+        }
+    }
+
+    /**
+     * 그룹 트랜잭션 하나를 실행
+     * @return 그룹이 통째로 롤백되어 다시 실행해야 하는 요청 (정상 commit 이면 빈 목록)
+     */
+    private List<Unit> runGroup(List<Unit> units) {
+        groupSize.record(units.size());
+        PlatformTransactionManager transactionManager = txManager.get();
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setName(GroupCommitter.class.getSimpleName() + ".group");
+        TransactionStatus status = transactionManager.getTransaction(definition);
+
+        List<Unit> executed = new ArrayList<>(units.size());
+        try {
+            List<Unit> retry = executeUnits(transactionManager, status, units, executed);
+            if (retry != null) {
+                return retry;
+            }
+        } catch (RuntimeException | Error e) {
+            if (!status.isCompleted()) {
+                transactionManager.rollback(status);
+            }
+            throw e;
+        }
+
+        try {
+            transactionManager.commit(status);
+        } catch (RuntimeException | Error e) {
+            log.warn("group commit 실패 size={}", units.size(), e);
+            executed.forEach(unit -> unit.result.completeExceptionally(e));
+            return List.of();
+        }
+        executed.forEach(Unit::complete);
+        return List.of();
+    }
+
+    /**
+     * 요청마다 savepoint를 만들고 실행
+     * * commit 대상 요청은 savepoint 해제 전에 flush
+     *   -> 요청의 SQL 실패(ex. 중복 username - uk_member_username)가 다음 요청의 savepoint가 아닌 이 요청 안에서 발생
+     * * savepoint로 롤백한 요청이 등록한 TransactionSynchronization도 제거
+     *   -> savepoint 롤백은 DB 작업만 되돌림 - 그대로 두면 롤백된 요청의 afterCommit(ex. 멱등키 캐시 저장)이 그룹 commit 때 실행됨
+     * @return 그룹이 rollback-only가 되어 새 그룹으로 실행해야 하는 요청 - 정상적으로 모두 실행했으면 null
+     */
+    private List<Unit> executeUnits(PlatformTransactionManager transactionManager, TransactionStatus status,
+                                    List<Unit> units, List<Unit> executed) {
+        for (int i = 0; i < units.size(); i++) {
+            Unit unit = units.get(i);
+            Object savepoint = status.createSavepoint();
+            List<TransactionSynchronization> synchronizations = synchronizationSnapshot();
+            boolean keep;
+            try {
+                unit.value = unit.invoke();
+                keep = true;
+            } catch (Throwable ex) {
+                unit.error = ex;
+                keep = !unit.rules.rollbackOn(ex);
+            }
+
+            if (keep && !status.isRollbackOnly()) {
+                try {
+                    status.flush();
+                } catch (RuntimeException ex) {
+                    unit.value = null;
+                    unit.error = ex;
+                    keep = false;
+                }
+            }
+
+            if (status.isRollbackOnly()) {
+                return abortGroup(transactionManager, status, unit, executed, units.subList(i + 1, units.size()));
+            }
+            if (keep) {
+                status.releaseSavepoint(savepoint);
+            } else {
+                status.rollbackToSavepoint(savepoint);
+                restoreSynchronizations(synchronizations);
+            }
+            executed.add(unit);
+        }
+        return null;
+    }
+
+    private static List<TransactionSynchronization> synchronizationSnapshot() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                ? TransactionSynchronizationManager.getSynchronizations() : List.of();
+    }
+
+    //savepoint 생성 시점의 synchronization 목록으로 되돌림 - 요청 실행 중에 등록된 것만 빠짐
+    private static void restoreSynchronizations(List<TransactionSynchronization> snapshot) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        snapshot.forEach(TransactionSynchronizationManager::registerSynchronization);
+    }
+
+    /**
+     * 요청 실행(참여 트랜잭션 실패, flush 실패 등)으로 그룹 트랜잭션이 rollback-only가 된 경우 - savepoint로 복구 불가
+     * * 그룹 전체 롤백, 원인이 된 요청은 자신의 예외로 실패
+     * * 이미 실행한 요청도 실패 (UnexpectedRollbackException) - 다시 실행하지 않음
+     *   -> 실행 중에 인자를 변경했을 수 있음 (ex. orderGrouped의 Order에 할당된 id/version) - 같은 인자로 재실행하면 안전하지 않음
+     * * 아직 실행하지 않은 요청만 새 그룹으로 실행
+     */
+    private List<Unit> abortGroup(PlatformTransactionManager transactionManager, TransactionStatus status,
+                                  Unit offender, List<Unit> executed, List<Unit> notExecuted) {
+        log.info("group commit 롤백 - rollback-only, 실행 전 요청만 재실행 failed={}, retry={}",
+                executed.size() + 1, notExecuted.size());
+        transactionManager.rollback(status);
+
+        Throwable cause = offender.error != null ? offender.error
+                : new UnexpectedRollbackException("요청 실행 중 그룹 트랜잭션이 rollback-only가 되었습니다.");
+        offender.result.completeExceptionally(cause);
+        UnexpectedRollbackException groupRollback =
+                new UnexpectedRollbackException("같은 그룹의 다른 요청 실패로 그룹 트랜잭션이 롤백되었습니다.", cause);
+        executed.forEach(unit -> unit.result.completeExceptionally(groupRollback));
+        executed.clear();
+        return new ArrayList<>(notExecuted);
+    }
+
+    private TransactionAttribute rollbackRules(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : null;
+        TransactionAttribute attribute = attributeSource.getTransactionAttribute(invocation.getMethod(), targetClass);
+        return attribute != null ? attribute : new DefaultTransactionAttribute();
+    }
+
+    private static class Unit {
+
+        private final MethodInvocation invocation;
+        private final TransactionAttribute rules;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private Object value;
+        private Throwable error;
+
+        Unit(MethodInvocation invocation, TransactionAttribute rules) {
+            this.invocation = invocation;
+            this.rules = rules;
+        }
+
+        /**
+         * 대상 메서드를 직접 호출 - 메서드의 TransactionInterceptor는 거치지 않음
+         * -> 메서드 경계에서 예외가 나도 그룹 트랜잭션을 rollback-only로 만들지 않고 savepoint로 처리
+         */
+        Object invoke() throws Throwable {
+            return AopUtils.invokeJoinpointUsingReflection(
+                    invocation.getThis(), invocation.getMethod(), invocation.getArguments());
+        }
+
+        void complete() {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package spring.transaction.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * 시퀀스에서 받아온 블록(lo ~ lo + blockSize - 1) 안에서 락 없이 id를 나눠주는 할당기
+ *
+ * * 블록 안에서는 AtomicLong.getAndIncrement() 하나로 id 할당 -> 스레드 간 경합 시 synchronized 대기 없음
+ * * 블록이 소진되면 소진을 확인한 스레드가 새 블록을 받아와 CAS로 교체
+ *   -> 여러 스레드가 동시에 새 블록을 받아오더라도 시퀀스가 준 블록은 서로 겹치지 않으므로 중복 id는 없음
+ *   -> CAS에 실패한 블록의 나머지 id는 버려짐 (시퀀스 id에 구멍이 생기는 것은 원래 허용되는 동작)
+ */
+public class BlockIdAllocator {
+
+    private final int blockSize;
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EXHAUSTED);
+
+    public BlockIdAllocator(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize는 1 이상이어야 합니다. blockSize=" + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @param blockStart 새 블록이 필요할 때만 호출 - 블록의 시작 값(lo)을 반환
+     */
+    public long next(LongSupplier blockStart) {
+        while (true) {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.limit) {
+                return id;
+            }
+
+            //다른 스레드가 이미 새 블록으로 교체했다면 그 블록에서 다시 할당
+            if (current.get() != block) {
+                continue;
+            }
+
+            long lo = blockStart.getAsLong();
+            current.compareAndSet(block, new Block(lo + 1, lo + blockSize));
+            return lo;
+        }
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    private static final class Block {
+
+        private static final Block EXHAUSTED = new Block(0, 0);
+
+        private final AtomicLong next;
+        private final long limit; //exclusive
+
+        private Block(long next, long limit) {
+            this.next = new AtomicLong(next);
+            this.limit = limit;
+        }
+    }
+}
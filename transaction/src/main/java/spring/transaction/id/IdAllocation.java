@@ -0,0 +1,24 @@
+package spring.transaction.id;
+
+/**
+ * 엔티티별 시퀀스 할당 크기(allocationSize) 설정
+ *
+ * * @GeneratedValue만 사용하는 경우 persist 할 때마다 시퀀스 조회가 필요할 수 있음
+ *   -> 시퀀스를 INCREMENT BY allocationSize 로 만들고, 한 번 조회한 값으로 allocationSize 만큼의 id를 메모리에서 할당
+ *   -> joinV1 처럼 요청 하나에 persist가 여러 번인 경우에도 대부분 시퀀스 조회 없이 id 할당
+ * * 애노테이션 속성에 사용하므로 상수(문자열)로 관리 - 엔티티별로 값을 조정
+ * * 값이 클수록 시퀀스 조회는 줄지만, 애플리케이션 재시작 시 사용하지 않은 id가 버려지는 구간도 커짐
+ */
+public final class IdAllocation {
+
+    public static final String GENERATOR = "org.hibernate.id.enhanced.SequenceStyleGenerator";
+    public static final String OPTIMIZER = "spring.transaction.id.LockFreePooledLoOptimizer";
+
+    public static final String MEMBER_ALLOCATION_SIZE = "50";
+    public static final String LOG_ALLOCATION_SIZE = "100"; //로그는 member보다 많이 쌓이므로 크게
+    public static final String ORDER_ALLOCATION_SIZE = "50";
+    public static final String OUTBOX_ALLOCATION_SIZE = "50";
+
+    private IdAllocation() {
+    }
+}
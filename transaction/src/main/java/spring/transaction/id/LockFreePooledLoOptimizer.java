@@ -0,0 +1,63 @@
+package spring.transaction.id;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.sql.ast.tree.expression.Expression;
+
+import java.io.Serializable;
+
+/**
+ * pooled-lo 방식의 Hibernate Optimizer
+ * -> 시퀀스 값 하나(lo)로 lo ~ lo + incrementSize - 1 까지의 id를 사용
+ * -> Hibernate 기본 PooledLoOptimizer는 generate()가 synchronized 이므로, BlockIdAllocator로 락 없이 할당
+ *
+ * SequenceStyleGenerator의 optimizer 파라미터에 클래스 이름을 지정해서 사용 (IdAllocation 참고)
+ * * Long 타입 id만 지원
+ */
+public class LockFreePooledLoOptimizer implements Optimizer {
+
+    private final int incrementSize;
+    private final BlockIdAllocator allocator;
+    private volatile IntegralDataTypeHolder lastSourceValue;
+
+    //Hibernate OptimizerFactory가 리플렉션으로 (Class, int) 생성자를 호출
+    public LockFreePooledLoOptimizer(Class<?> returnClass, int incrementSize) {
+        if (returnClass != Long.class && returnClass != long.class) {
+            throw new IllegalArgumentException("Long 타입 id만 지원합니다. returnClass=" + returnClass);
+        }
+        this.incrementSize = incrementSize;
+        this.allocator = new BlockIdAllocator(incrementSize);
+    }
+
+    @Override
+    public Serializable generate(AccessCallback callback) {
+        return allocator.next(() -> {
+            IntegralDataTypeHolder value = callback.getNextValue();
+            lastSourceValue = value;
+            return value.makeValue().longValue();
+        });
+    }
+
+    @Override
+    public IntegralDataTypeHolder getLastSourceValue() {
+        return lastSourceValue;
+    }
+
+    @Override
+    public int getIncrementSize() {
+        return incrementSize;
+    }
+
+    //시퀀스는 incrementSize 만큼 증가해야 블록이 겹치지 않음
+    @Override
+    public boolean applyIncrementSizeToSourceValues() {
+        return true;
+    }
+
+    //HQL insert-select 에서 시퀀스 값으로 id를 계산할 때 사용 - pooled-lo는 시퀀스 값이 곧 블록의 시작 id
+    public Expression createLowValueExpression(Expression databaseValue, SessionFactoryImplementor sessionFactory) {
+        return databaseValue;
+    }
+}
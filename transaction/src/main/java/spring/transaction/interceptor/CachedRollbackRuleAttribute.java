@@ -0,0 +1,103 @@
+package spring.transaction.interceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.interceptor.DelegatingTransactionAttribute;
+import org.springframework.transaction.interceptor.NoRollbackRuleAttribute;
+import org.springframework.transaction.interceptor.RollbackRuleAttribute;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * rollbackOn() 결과를 예외 클래스별로 캐시하는 TransactionAttribute
+ *
+ * * RuleBasedTransactionAttribute.rollbackOn()은 예외가 발생할 때마다
+ *   rollbackFor/noRollbackFor 규칙마다 예외 클래스의 상위 타입을 Throwable까지 따라 올라가며 비교
+ *   -> 규칙과 예외 클래스가 같으면 결과도 항상 같으므로 메서드(attribute)별, 예외 클래스별로 한 번만 계산
+ * * ClassValue : 예외 클래스에 직접 값을 붙이는 lock-free 캐시 (Class -> 값 조회에 해시맵/락 없음)
+ *   - 클래스 언로드 시 같이 정리되므로 예외 클래스를 강하게 참조해서 생기는 누수 없음
+ * * 판단 규칙은 Spring 그대로 사용 - 처음 발생한 예외 인스턴스로 delegate 규칙을 평가하고 결과만 저장
+ */
+class CachedRollbackRuleAttribute extends DelegatingTransactionAttribute {
+
+    static final String RULE_DEFAULT_UNCHECKED = "default-unchecked";
+    static final String RULE_DEFAULT_CHECKED = "default-checked";
+
+    private final TransactionAttribute target;
+    private final String name;
+    private final Supplier<MeterRegistry> registry;
+
+    private final ClassValue<AtomicReference<RollbackDecision>> decisions = new ClassValue<>() {
+        @Override
+        protected AtomicReference<RollbackDecision> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    CachedRollbackRuleAttribute(TransactionAttribute target, String name, Supplier<MeterRegistry> registry) {
+        super(target);
+        this.target = target;
+        this.name = name;
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean rollbackOn(Throwable ex) {
+        AtomicReference<RollbackDecision> cached = decisions.get(ex.getClass());
+        RollbackDecision decision = cached.get();
+        if (decision == null) {
+            //동시에 계산되더라도 결과는 같으므로 먼저 저장된 값을 사용
+            cached.compareAndSet(null, decide(ex));
+            decision = cached.get();
+        }
+        decision.record();
+        return decision.rollback();
+    }
+
+    //예외 클래스에 대해 계산된 결과 - 아직 발생하지 않은 예외면 null
+    RollbackDecision cachedDecision(Class<? extends Throwable> exceptionType) {
+        return decisions.get(exceptionType).get();
+    }
+
+    private RollbackDecision decide(Throwable ex) {
+        boolean rollback = target.rollbackOn(ex);
+        String rule = rule(ex, rollback);
+        return new RollbackDecision(rollback, rule, counter(ex, rollback, rule));
+    }
+
+    //RuleBasedTransactionAttribute.rollbackOn()과 같은 방식으로 가장 가까운(깊이가 얕은) 규칙을 찾음
+    private String rule(Throwable ex, boolean rollback) {
+        if (target instanceof RuleBasedTransactionAttribute ruleBased && ruleBased.getRollbackRules() != null) {
+            RollbackRuleAttribute winner = null;
+            int deepest = Integer.MAX_VALUE;
+            for (RollbackRuleAttribute rule : ruleBased.getRollbackRules()) {
+                int depth = rule.getDepth(ex);
+                if (depth >= 0 && depth < deepest) {
+                    deepest = depth;
+                    winner = rule;
+                }
+            }
+            if (winner != null) {
+                String prefix = winner instanceof NoRollbackRuleAttribute ? "noRollbackFor:" : "rollbackFor:";
+                return prefix + winner.getExceptionName();
+            }
+        }
+        return rollback ? RULE_DEFAULT_UNCHECKED : RULE_DEFAULT_CHECKED;
+    }
+
+    private Counter counter(Throwable ex, boolean rollback, String rule) {
+        MeterRegistry meterRegistry = registry.get();
+        if (meterRegistry == null) {
+            return null;
+        }
+        return Counter.builder("tx.rollback.rule")
+                .tag("name", name)
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("rule", rule)
+                .tag("outcome", rollback ? "rollback" : "commit")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package spring.transaction.interceptor;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+/**
+ * tx.fail-fast.enabled=true 인 경우 @Transactional 프록시의 TransactionInterceptor를 FailFastTransactionInterceptor로 교체
+ * * 스프링이 등록한 transactionInterceptor 빈을 같은 설정의 하위 클래스 인스턴스로 바꿔서 반환
+ *   -> 트랜잭션 advisor는 교체된 인스턴스를 advice로 사용
+ * * AspectJ 위빙 모드(tx.mode=aspectj)는 TransactionInterceptor 빈을 사용하지 않으므로 적용되지 않음
+ */
+@Configuration
+@ConditionalOnProperty(name = "tx.fail-fast.enabled", havingValue = "true")
+public class FailFastTransactionConfig {
+
+    @Bean
+    public static BeanPostProcessor failFastTransactionPostProcessor() {
+        return new FailFastTransactionPostProcessor();
+    }
+
+    static class FailFastTransactionPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+        private BeanFactory beanFactory;
+
+        @Override
+        public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+            this.beanFactory = beanFactory;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            if (!(bean instanceof TransactionInterceptor interceptor)
+                    || bean instanceof FailFastTransactionInterceptor) {
+                return bean;
+            }
+            FailFastTransactionInterceptor failFast = new FailFastTransactionInterceptor();
+            failFast.setTransactionAttributeSource(interceptor.getTransactionAttributeSource());
+            failFast.setTransactionManager(interceptor.getTransactionManager());
+            failFast.setBeanFactory(beanFactory);
+            return failFast;
+        }
+    }
+}
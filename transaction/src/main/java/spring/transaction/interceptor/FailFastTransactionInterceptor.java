@@ -0,0 +1,118 @@
+package spring.transaction.interceptor;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * 물리 트랜잭션이 rollback-only가 된 이후의 참여 호출을 바로 중단하는 TransactionInterceptor
+ *
+ * * 기본 동작 : 참여 트랜잭션(REQUIRED 등)에서 예외 -> 물리 트랜잭션 rollback-only marking
+ *   -> 외부에서 예외를 잡으면 이후 repository 호출도 계속 실행되고, 마지막 commit 시점에 UnexpectedRollbackException
+ *   -> rollback-only 이후에 실행한 SQL은 전부 버려지는 작업
+ * * fail-fast
+ *   1. 참여 트랜잭션이 rollback-only marking 할 때 원인(메서드, 예외)을 트랜잭션 리소스로 저장
+ *   2. 이후 같은 물리 트랜잭션에 참여하는 호출(REQUIRED, SUPPORTS, MANDATORY, NESTED)은
+ *      메서드를 실행하지 않고 RollbackOnlyFailFastException (UnexpectedRollbackException 하위 타입)
+ *   3. 외부 트랜잭션 commit 시 UnexpectedRollbackException 메시지에 원인을 함께 기록
+ * * REQUIRES_NEW, NOT_SUPPORTED는 별도로 실행되므로 그대로 진행
+ * * 원인 저장 = 트랜잭션 리소스 바인딩 (ThreadLocal Map) - 호출마다 확인하는 비용은 getResource() 한 번
+ * * status.setRollbackOnly()로 직접 marking 한 경우는 원인을 알 수 없으므로 대상이 아님
+ */
+public class FailFastTransactionInterceptor extends TransactionInterceptor {
+
+    //트랜잭션 리소스 키 - 인스턴스 자체를 키로 사용
+    private static final Object ORIGIN_KEY = new Object();
+
+    @Override
+    @Nullable
+    protected Object invokeWithinTransaction(Method method, @Nullable Class<?> targetClass,
+                                             InvocationCallback invocation) throws Throwable {
+        RollbackOnlyOrigin origin = currentOrigin();
+        if (origin != null && joinsCurrent(method, targetClass)) {
+            throw new RollbackOnlyFailFastException(ClassUtils.getQualifiedMethodName(method, targetClass), origin);
+        }
+        return super.invokeWithinTransaction(method, targetClass, invocation);
+    }
+
+    @Override
+    protected void completeTransactionAfterThrowing(@Nullable TransactionInfo txInfo, Throwable ex) {
+        super.completeTransactionAfterThrowing(txInfo, ex);
+        if (txInfo == null || currentOrigin() != null) {
+            return;
+        }
+        TransactionStatus status = txInfo.getTransactionStatus();
+        if (status != null && !status.isNewTransaction() && status.isRollbackOnly()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            bindOrigin(new RollbackOnlyOrigin(txInfo.getJoinpointIdentification(),
+                    ex.getClass().getName(), ex.getMessage()));
+        }
+    }
+
+    @Override
+    protected void commitTransactionAfterReturning(@Nullable TransactionInfo txInfo) {
+        RollbackOnlyOrigin origin = currentOrigin();
+        try {
+            super.commitTransactionAfterReturning(txInfo);
+        } catch (UnexpectedRollbackException e) {
+            if (origin == null || e instanceof RollbackOnlyFailFastException) {
+                throw e;
+            }
+            throw new UnexpectedRollbackException(e.getMessage() + " [rollback-only origin: " + origin + "]", e);
+        }
+    }
+
+    //현재 물리 트랜잭션의 rollback-only 원인 - 없으면 null
+    @Nullable
+    public static RollbackOnlyOrigin currentOrigin() {
+        return (RollbackOnlyOrigin) TransactionSynchronizationManager.getResource(ORIGIN_KEY);
+    }
+
+    private boolean joinsCurrent(Method method, @Nullable Class<?> targetClass) {
+        TransactionAttributeSource source = getTransactionAttributeSource();
+        TransactionAttribute attribute = source != null ? source.getTransactionAttribute(method, targetClass) : null;
+        if (attribute == null) {
+            return false;
+        }
+        return switch (attribute.getPropagationBehavior()) {
+            case TransactionDefinition.PROPAGATION_REQUIRED,
+                    TransactionDefinition.PROPAGATION_SUPPORTS,
+                    TransactionDefinition.PROPAGATION_MANDATORY,
+                    TransactionDefinition.PROPAGATION_NESTED -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * 원인을 현재 물리 트랜잭션에 바인딩
+     * * REQUIRES_NEW 등으로 보류되면 함께 보류/재개, 트랜잭션이 끝나면 해제
+     */
+    private void bindOrigin(RollbackOnlyOrigin origin) {
+        TransactionSynchronizationManager.bindResource(ORIGIN_KEY, origin);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(ORIGIN_KEY);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(ORIGIN_KEY, origin);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ORIGIN_KEY);
+            }
+        });
+    }
+}
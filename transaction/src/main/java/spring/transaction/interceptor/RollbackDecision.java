@@ -0,0 +1,18 @@
+package spring.transaction.interceptor;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * 메서드 하나 + 예외 클래스 하나에 대한 롤백 판단 결과
+ * @param rollback true면 롤백, false면 commit
+ * @param rule     판단에 사용된 규칙 (default-unchecked, default-checked, rollbackFor:..., noRollbackFor:...)
+ * @param counter  tx.rollback.rule 카운터 - 메트릭을 사용하지 않으면 null
+ */
+record RollbackDecision(boolean rollback, String rule, Counter counter) {
+
+    void record() {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
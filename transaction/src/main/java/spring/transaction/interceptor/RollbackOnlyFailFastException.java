@@ -0,0 +1,21 @@
+package spring.transaction.interceptor;
+
+import org.springframework.transaction.UnexpectedRollbackException;
+
+/**
+ * 이미 rollback-only인 물리 트랜잭션에 참여하려는 호출을 바로 중단할 때 발생
+ * * 어차피 commit 시점에 UnexpectedRollbackException이 발생할 트랜잭션 -> 같은 타입으로 조기에 알림
+ */
+public class RollbackOnlyFailFastException extends UnexpectedRollbackException {
+
+    private final transient RollbackOnlyOrigin origin;
+
+    public RollbackOnlyFailFastException(String method, RollbackOnlyOrigin origin) {
+        super("Transaction is already marked rollback-only - skipped " + method + " [rollback-only origin: " + origin + "]");
+        this.origin = origin;
+    }
+
+    public RollbackOnlyOrigin getOrigin() {
+        return origin;
+    }
+}
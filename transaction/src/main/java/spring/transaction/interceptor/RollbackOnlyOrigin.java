@@ -0,0 +1,16 @@
+package spring.transaction.interceptor;
+
+/**
+ * 물리 트랜잭션을 rollback-only로 만든 참여(participating) 트랜잭션의 정보
+ * * 예외가 발생한 시점에 이미 알고 있는 값(메서드 이름, 예외 클래스/메시지)만 저장 - 스택 트레이스를 따라가지 않음
+ * @param method    트랜잭션 이름 (클래스.메서드)
+ * @param exception 예외 클래스 이름
+ * @param message   예외 메시지
+ */
+public record RollbackOnlyOrigin(String method, String exception, String message) {
+
+    @Override
+    public String toString() {
+        return method + " threw " + exception + (message != null ? ": " + message : "");
+    }
+}
@@ -0,0 +1,50 @@
+package spring.transaction.interceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+/**
+ * @Transactional 프록시의 TransactionInterceptor에 롤백 규칙 캐시(RollbackRuleCachingAttributeSource)를 적용
+ * * 포인트컷(어떤 빈을 프록시로 만들지)은 기존 TransactionAttributeSource를 그대로 사용하고,
+ *   interceptor가 호출 시점에 조회하는 attribute만 교체
+ * * AspectJ 위빙 모드(tx.mode=aspectj)는 TransactionInterceptor 빈을 사용하지 않으므로 적용되지 않음
+ * * tx.rollback-cache.enabled=false 로 끌 수 있음
+ * * 메트릭 : tx.rollback.rule (name, exception, rule, outcome)
+ */
+@Configuration
+@ConditionalOnProperty(name = "tx.rollback-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class RollbackRuleCacheConfig {
+
+    @Bean
+    public static BeanPostProcessor rollbackRuleCachePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RollbackRuleCachePostProcessor(meterRegistry);
+    }
+
+    static class RollbackRuleCachePostProcessor implements BeanPostProcessor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        RollbackRuleCachePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof TransactionInterceptor interceptor) {
+                TransactionAttributeSource source = interceptor.getTransactionAttributeSource();
+                if (source != null && !(source instanceof RollbackRuleCachingAttributeSource)) {
+                    interceptor.setTransactionAttributeSource(
+                            new RollbackRuleCachingAttributeSource(source, meterRegistry::getIfAvailable));
+                }
+            }
+            return bean;
+        }
+    }
+}
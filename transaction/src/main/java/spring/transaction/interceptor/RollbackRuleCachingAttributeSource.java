@@ -0,0 +1,57 @@
+package spring.transaction.interceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.MethodClassKey;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.util.ClassUtils;
+import spring.transaction.manager.MeteredTransactionManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * TransactionInterceptor가 사용하는 TransactionAttributeSource를 감싸서
+ * 메서드별 attribute를 CachedRollbackRuleAttribute로 변환
+ * * 메서드(+ 대상 클래스)마다 CachedRollbackRuleAttribute 하나 -> 예외 클래스별 판단 결과를 메서드 단위로 공유
+ * * @Transactional이 없는 메서드는 그대로 null
+ */
+class RollbackRuleCachingAttributeSource implements TransactionAttributeSource {
+
+    private final TransactionAttributeSource delegate;
+    private final Supplier<MeterRegistry> registry;
+    private final Map<MethodClassKey, TransactionAttribute> attributes = new ConcurrentHashMap<>();
+
+    RollbackRuleCachingAttributeSource(TransactionAttributeSource delegate, Supplier<MeterRegistry> registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean isCandidateClass(Class<?> targetClass) {
+        return delegate.isCandidateClass(targetClass);
+    }
+
+    @Override
+    @Nullable
+    public TransactionAttribute getTransactionAttribute(Method method, @Nullable Class<?> targetClass) {
+        TransactionAttribute attribute = delegate.getTransactionAttribute(method, targetClass);
+        if (attribute == null) {
+            return null;
+        }
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        TransactionAttribute cached = attributes.get(key);
+        if (cached == null) {
+            String name = MeteredTransactionManager.shortName(ClassUtils.getQualifiedMethodName(method, targetClass));
+            cached = attributes.computeIfAbsent(key, k -> new CachedRollbackRuleAttribute(attribute, name, registry));
+        }
+        return cached;
+    }
+
+    TransactionAttributeSource getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,30 @@
+package spring.transaction.manager;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * tx.connection-budget.enabled=true 인 경우 JpaTransactionManager를 ConnectionBudgetTransactionManager로 감싸서 등록
+ * -> 직접 등록한 트랜잭션 매니저가 있으므로 스프링 부트의 JpaTransactionManager 자동 등록은 생략됨
+ */
+@Configuration
+@ConditionalOnProperty(name = "tx.connection-budget.enabled", havingValue = "true")
+public class ConnectionBudgetConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            EntityManagerFactory entityManagerFactory,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${tx.connection-budget.reserved-for-nested:1}") int reservedForNested,
+            @Value("${tx.connection-budget.nested-acquire-timeout-ms:100}") long nestedAcquireTimeoutMs) {
+        return new ConnectionBudgetTransactionManager(new JpaTransactionManager(entityManagerFactory),
+                poolSize, reservedForNested, Duration.ofMillis(nestedAcquireTimeoutMs));
+    }
+}
@@ -0,0 +1,14 @@
+package spring.transaction.manager;
+
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * 이미 con을 점유한 스레드가 REQUIRES_NEW 등으로 con을 하나 더 요청했지만 pool에 남은 con이 없는 경우
+ * -> 그대로 대기하면 같은 상황의 스레드끼리 서로의 con 반납을 기다리는 pool deadlock 발생
+ */
+public class ConnectionBudgetExceededException extends CannotCreateTransactionException {
+
+    public ConnectionBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,217 @@
+package spring.transaction.manager;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * 물리 트랜잭션(= con)을 새로 여는 시점마다 pool 크기만큼의 permit을 소모하는 트랜잭션 매니저 데코레이터
+ *
+ * * REQUIRES_NEW는 기존 con을 '보류'한 채 새로운 con을 요청
+ *   -> pool 크기 N, 동시 요청 N개가 모두 outer con을 잡고 inner con을 기다리면 아무도 반납하지 않는 deadlock
+ * * 최상위 트랜잭션은 (pool 크기 - reservedForNested) 개까지만 동시에 시작하도록 제한해서 inner용 con을 미리 남겨둠
+ * * 이미 con을 점유한 스레드가 nestedAcquireTimeout 안에 permit을 얻지 못하면 무한 대기 대신 바로 예외
+ */
+@Slf4j
+public class ConnectionBudgetTransactionManager implements PlatformTransactionManager {
+
+    //TransactionMetricsConfig가 초기화 시점에 MeteredTransactionManager로 교체 (decorateDelegate)
+    private PlatformTransactionManager delegate;
+    private final int poolSize;
+    private final Semaphore topLevel;
+    private final Semaphore budget;
+    private final long nestedAcquireTimeoutNanos;
+
+    //스레드별로 con을 새로 획득한 트랜잭션 status - 안쪽(REQUIRES_NEW)부터 commit/rollback 되므로 stack
+    private final ThreadLocal<Deque<TransactionStatus>> held = ThreadLocal.withInitial(ArrayDeque::new);
+
+    //스레드 이름은 고유하지 않음 (ex. 가상 스레드는 모두 "") -> Thread 자체를 키로, 이름은 조회 시 라벨로만 사용
+    // * 점유 con이 0이 되면 바로 제거하므로 종료된 스레드가 남지 않음
+    private final Map<Thread, Integer> heldPerThread = new ConcurrentHashMap<>();
+    private final AtomicInteger maxHeldPerThread = new AtomicInteger();
+    private final AtomicLong failFastCount = new AtomicLong();
+
+    public ConnectionBudgetTransactionManager(PlatformTransactionManager delegate, int poolSize,
+                                              int reservedForNested, Duration nestedAcquireTimeout) {
+        if (reservedForNested < 0 || reservedForNested >= poolSize) {
+            throw new IllegalArgumentException(
+                    "reservedForNested는 0 이상 poolSize 미만이어야 합니다. poolSize=" + poolSize
+                            + ", reservedForNested=" + reservedForNested);
+        }
+        this.delegate = delegate;
+        this.poolSize = poolSize;
+        this.topLevel = new Semaphore(poolSize - reservedForNested);
+        this.budget = new Semaphore(poolSize);
+        this.nestedAcquireTimeoutNanos = nestedAcquireTimeout.toNanos();
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) throws TransactionException {
+        if (!requiresNewConnection(definition)) {
+            return delegate.getTransaction(definition);
+        }
+
+        Deque<TransactionStatus> statuses = held.get();
+        acquire(statuses, definition);
+
+        TransactionStatus status;
+        try {
+            status = delegate.getTransaction(definition);
+        } catch (RuntimeException | Error e) {
+            release(statuses.isEmpty());
+            throw e;
+        }
+        statuses.push(status);
+        recordHeld(statuses.size());
+        return status;
+    }
+
+    @Override
+    public void commit(TransactionStatus status) throws TransactionException {
+        try {
+            delegate.commit(status);
+        } finally {
+            releaseIfHeld(status);
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) throws TransactionException {
+        try {
+            delegate.rollback(status);
+        } finally {
+            releaseIfHeld(status);
+        }
+    }
+
+    public PlatformTransactionManager getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 감싸고 있는 트랜잭션 매니저를 한 번 더 감쌈 - 빈 초기화 중(BeanPostProcessor)에만 호출
+     * -> 이 매니저 자체를 감싸면 ConnectionBudgetTransactionManager 타입으로 주입받을 수 없으므로 안쪽에 적용
+     */
+    void decorateDelegate(UnaryOperator<PlatformTransactionManager> decorator) {
+        this.delegate = decorator.apply(delegate);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    //현재 스레드가 점유 중인 con 수
+    public int getHeldConnections() {
+        return held.get().size();
+    }
+
+    //"스레드 이름#id" -> 점유 중인 con 수 (점유 중인 스레드만)
+    public Map<String, Integer> getHeldConnectionsPerThread() {
+        Map<String, Integer> snapshot = new HashMap<>();
+        heldPerThread.forEach((thread, count) -> snapshot.put(thread.getName() + "#" + thread.getId(), count));
+        return Map.copyOf(snapshot);
+    }
+
+    public int getMaxHeldPerThread() {
+        return maxHeldPerThread.get();
+    }
+
+    public long getFailFastCount() {
+        return failFastCount.get();
+    }
+
+    public int getAvailableConnections() {
+        return budget.availablePermits();
+    }
+
+    /**
+     * 물리 con을 새로 획득하는 전파 옵션인지 확인
+     * - REQUIRES_NEW : 항상 새로운 con
+     * - REQUIRED, NESTED, MANDATORY : 진행 중인 트랜잭션이 없을 때만 새로운 con (NESTED는 기존 con의 savepoint)
+     * - SUPPORTS, NOT_SUPPORTED, NEVER : 트랜잭션 con 없음
+     */
+    private boolean requiresNewConnection(TransactionDefinition definition) {
+        int propagation = definition != null
+                ? definition.getPropagationBehavior() : TransactionDefinition.PROPAGATION_REQUIRED;
+        return switch (propagation) {
+            case TransactionDefinition.PROPAGATION_REQUIRES_NEW -> true;
+            case TransactionDefinition.PROPAGATION_REQUIRED,
+                    TransactionDefinition.PROPAGATION_NESTED,
+                    TransactionDefinition.PROPAGATION_MANDATORY ->
+                    !TransactionSynchronizationManager.isActualTransactionActive();
+            default -> false;
+        };
+    }
+
+    private void acquire(Deque<TransactionStatus> statuses, TransactionDefinition definition) {
+        if (statuses.isEmpty()) {
+            //최상위 트랜잭션 - 다른 스레드의 con 반납을 기다려도 deadlock이 아니므로 대기
+            topLevel.acquireUninterruptibly();
+            budget.acquireUninterruptibly();
+            return;
+        }
+
+        //이미 con을 점유한 채로 추가 con 요청
+        boolean acquired;
+        try {
+            acquired = budget.tryAcquire(nestedAcquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            failFastCount.incrementAndGet();
+            String name = definition != null ? definition.getName() : null;
+            throw new ConnectionBudgetExceededException(
+                    "con을 " + statuses.size() + "개 점유한 상태에서 추가 con을 획득할 수 없습니다."
+                            + " 대기하면 pool deadlock이 발생할 수 있습니다. transaction=" + name
+                            + ", poolSize=" + poolSize);
+        }
+    }
+
+    private void releaseIfHeld(TransactionStatus status) {
+        Deque<TransactionStatus> statuses = held.get();
+        if (statuses.peek() != status) {
+            //참여(participating) 트랜잭션 등 con을 새로 획득하지 않은 status
+            return;
+        }
+        statuses.pop();
+        release(statuses.isEmpty());
+        recordHeld(statuses.size());
+        if (statuses.isEmpty()) {
+            held.remove();
+        }
+    }
+
+    private void release(boolean topLevelReleased) {
+        budget.release();
+        if (topLevelReleased) {
+            topLevel.release();
+        }
+    }
+
+    private void recordHeld(int count) {
+        Thread thread = Thread.currentThread();
+        if (count == 0) {
+            heldPerThread.remove(thread);
+            return;
+        }
+        heldPerThread.put(thread, count);
+        maxHeldPerThread.accumulateAndGet(count, Math::max);
+    }
+}
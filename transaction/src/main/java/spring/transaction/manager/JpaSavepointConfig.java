@@ -0,0 +1,52 @@
+package spring.transaction.manager;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * JpaTransactionManager에 SavepointHibernateJpaDialect + nestedTransactionAllowed 적용 -> Propagation.NESTED 사용 가능
+ * * 스프링 부트가 등록한 JpaTransactionManager, ConnectionBudgetTransactionManager가 감싼 JpaTransactionManager 모두 적용
+ * * JpaTransactionManager.afterPropertiesSet()이 EntityManagerFactory의 JpaDialect로 덮어쓰므로 초기화 이후에 설정
+ *   -> TransactionMetricsConfig(LOWEST_PRECEDENCE)가 MeteredTransactionManager로 감싸기 전에 적용되도록 순서 지정
+ * * tx.jpa-savepoint.enabled=false 로 끌 수 있음 - NESTED 사용 시 NestedTransactionNotSupportedException
+ */
+@Configuration
+@ConditionalOnProperty(name = "tx.jpa-savepoint.enabled", havingValue = "true", matchIfMissing = true)
+public class JpaSavepointConfig {
+
+    @Bean
+    public static BeanPostProcessor jpaSavepointPostProcessor() {
+        return new JpaSavepointPostProcessor();
+    }
+
+    static class JpaSavepointPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof JpaTransactionManager txManager) {
+                enableSavepoints(txManager);
+            } else if (bean instanceof ConnectionBudgetTransactionManager budget
+                    && budget.getDelegate() instanceof JpaTransactionManager txManager) {
+                enableSavepoints(txManager);
+            }
+            return bean;
+        }
+
+        private void enableSavepoints(JpaTransactionManager txManager) {
+            if (!(txManager.getJpaDialect() instanceof SavepointHibernateJpaDialect)) {
+                txManager.setJpaDialect(new SavepointHibernateJpaDialect());
+            }
+            txManager.setNestedTransactionAllowed(true);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package spring.transaction.manager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.ResourceTransactionManager;
+
+import java.util.function.Supplier;
+
+/**
+ * ResourceTransactionManager(JpaTransactionManager, DataSourceTransactionManager)를 감싼 MeteredTransactionManager
+ * -> 래핑 후에도 리소스(EntityManagerFactory, DataSource) 기준으로 트랜잭션 매니저를 찾는 코드가 그대로 동작
+ */
+final class MeteredResourceTransactionManager extends MeteredTransactionManager implements ResourceTransactionManager {
+
+    private final ResourceTransactionManager resourceDelegate;
+
+    MeteredResourceTransactionManager(ResourceTransactionManager delegate, Supplier<MeterRegistry> registry) {
+        super(delegate, registry);
+        this.resourceDelegate = delegate;
+    }
+
+    @Override
+    public Object getResourceFactory() {
+        return resourceDelegate.getResourceFactory();
+    }
+}
@@ -0,0 +1,144 @@
+package spring.transaction.manager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.ResourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * @Transactional 경계마다 Micrometer로 횟수/시간/결과를 기록하는 트랜잭션 매니저 데코레이터
+ * * TRACE/DEBUG 로그 대신 운영 환경에서 켜둘 수 있도록 hot path에서는
+ *   이름별로 캐시한 meter 조회 + status 래퍼 하나만 생성
+ * * 트랜잭션 이름은 TransactionInterceptor가 붙여준 '클래스.메서드' 에서 패키지를 뺀 이름 (ex. OrderService.order)
+ * * tx.begin은 트랜잭션 시작 지연(getTransaction() 시간)이지 con 획득 대기 시간이 아님
+ *   -> con 획득 대기 시간은 Hikari의 hikaricp.connections.acquire 로 확인 (HikariMetricsConfig)
+ * * 새로 시작한 트랜잭션(isNewTransaction)만 기록 - 참여 트랜잭션, NESTED savepoint는 횟수에 포함하지 않음
+ *   -> 참여 트랜잭션까지 세면 중첩 깊이만큼 트랜잭션 수가 부풀려짐
+ * * 감싼 매니저가 ResourceTransactionManager(JpaTransactionManager 등)라면 of()가 같은 인터페이스를 구현한 래퍼를 반환
+ */
+public class MeteredTransactionManager implements PlatformTransactionManager {
+
+    private static final String UNNAMED = "unnamed";
+
+    private final PlatformTransactionManager delegate;
+    private final Supplier<MeterRegistry> registry;
+    private final ConcurrentMap<String, TransactionMeters> meters = new ConcurrentHashMap<>();
+
+    //BeanPostProcessor에서 감싸는 경우 MeterRegistry 빈이 아직 없을 수 있으므로 처음 사용할 때 조회
+    public MeteredTransactionManager(PlatformTransactionManager delegate, Supplier<MeterRegistry> registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    /**
+     * delegate가 ResourceTransactionManager면 getResourceFactory()도 위임하는 래퍼 반환
+     */
+    public static MeteredTransactionManager of(PlatformTransactionManager delegate, Supplier<MeterRegistry> registry) {
+        if (delegate instanceof ResourceTransactionManager resourceTxManager) {
+            return new MeteredResourceTransactionManager(resourceTxManager, registry);
+        }
+        return new MeteredTransactionManager(delegate, registry);
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) throws TransactionException {
+        TransactionMeters transactionMeters = meters(definition != null ? definition.getName() : null);
+        if (suspendsCurrent(definition)) {
+            transactionMeters.suspensions.increment();
+        }
+
+        long start = System.nanoTime();
+        TransactionStatus status = delegate.getTransaction(definition);
+        if (!status.isNewTransaction()) {
+            return status;
+        }
+        transactionMeters.begin.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new MeteredTransactionStatus(status, transactionMeters, start);
+    }
+
+    @Override
+    public void commit(TransactionStatus status) throws TransactionException {
+        if (!(status instanceof MeteredTransactionStatus metered)) {
+            delegate.commit(status);
+            return;
+        }
+
+        Timer outcome = metered.getMeters().commit;
+        if (metered.getDelegate().isRollbackOnly()) {
+            outcome = metered.getMeters().rollbackOnly;
+        }
+        try {
+            delegate.commit(metered.getDelegate());
+        } catch (UnexpectedRollbackException e) {
+            outcome = metered.getMeters().rollbackOnly;
+            throw e;
+        } catch (RuntimeException | Error e) {
+            outcome = metered.getMeters().failed;
+            throw e;
+        } finally {
+            outcome.record(System.nanoTime() - metered.getStartNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) throws TransactionException {
+        if (!(status instanceof MeteredTransactionStatus metered)) {
+            delegate.rollback(status);
+            return;
+        }
+
+        Timer outcome = metered.getMeters().rollback;
+        try {
+            delegate.rollback(metered.getDelegate());
+        } catch (RuntimeException | Error e) {
+            outcome = metered.getMeters().failed;
+            throw e;
+        } finally {
+            outcome.record(System.nanoTime() - metered.getStartNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public PlatformTransactionManager getDelegate() {
+        return delegate;
+    }
+
+    private TransactionMeters meters(String name) {
+        String key = name != null ? name : UNNAMED;
+        TransactionMeters transactionMeters = meters.get(key);
+        if (transactionMeters == null) {
+            transactionMeters = meters.computeIfAbsent(key,
+                    k -> new TransactionMeters(registry.get(), shortName(k)));
+        }
+        return transactionMeters;
+    }
+
+    //진행 중인 트랜잭션을 보류하는 전파 옵션
+    private boolean suspendsCurrent(TransactionDefinition definition) {
+        if (definition == null || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        int propagation = definition.getPropagationBehavior();
+        return propagation == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                || propagation == TransactionDefinition.PROPAGATION_NOT_SUPPORTED;
+    }
+
+    //spring.transaction.order.OrderService.order -> OrderService.order
+    public static String shortName(String name) {
+        int method = name.lastIndexOf('.');
+        if (method <= 0) {
+            return name;
+        }
+        int type = name.lastIndexOf('.', method - 1);
+        return name.substring(type + 1);
+    }
+}
@@ -0,0 +1,78 @@
+package spring.transaction.manager;
+
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+
+/**
+ * MeteredTransactionManager가 반환하는 status
+ * -> 실제 status + 트랜잭션 이름별 meter + 시작 시각을 함께 들고 다니므로 commit/rollback 시점에 별도 조회가 필요 없음
+ */
+final class MeteredTransactionStatus implements TransactionStatus {
+
+    private final TransactionStatus delegate;
+    private final TransactionMeters meters;
+    private final long startNanos;
+
+    MeteredTransactionStatus(TransactionStatus delegate, TransactionMeters meters, long startNanos) {
+        this.delegate = delegate;
+        this.meters = meters;
+        this.startNanos = startNanos;
+    }
+
+    TransactionStatus getDelegate() {
+        return delegate;
+    }
+
+    TransactionMeters getMeters() {
+        return meters;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    @Override
+    public boolean isNewTransaction() {
+        return delegate.isNewTransaction();
+    }
+
+    @Override
+    public boolean hasSavepoint() {
+        return delegate.hasSavepoint();
+    }
+
+    @Override
+    public void setRollbackOnly() {
+        delegate.setRollbackOnly();
+    }
+
+    @Override
+    public boolean isRollbackOnly() {
+        return delegate.isRollbackOnly();
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return delegate.isCompleted();
+    }
+
+    @Override
+    public Object createSavepoint() throws TransactionException {
+        return delegate.createSavepoint();
+    }
+
+    @Override
+    public void rollbackToSavepoint(Object savepoint) throws TransactionException {
+        delegate.rollbackToSavepoint(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Object savepoint) throws TransactionException {
+        delegate.releaseSavepoint(savepoint);
+    }
+}
@@ -0,0 +1,146 @@
+package spring.transaction.manager;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.SavepointManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * JpaTransactionManager에서 Propagation.NESTED를 사용할 수 있도록 JDBC savepoint를 제공하는 JpaDialect
+ *
+ * * JpaTransactionManager는 beginTransaction()이 반환한 객체가 SavepointManager일 때만 NESTED를 지원
+ *   -> HibernateJpaDialect는 savepoint를 지원하지 않으므로 반환값을 SavepointManager로 감쌈
+ * * NESTED는 외부 트랜잭션의 con을 그대로 사용 (REQUIRES_NEW처럼 con 추가 획득 + 외부 트랜잭션 보류 없음)
+ * * JPA는 변경 내용을 영속성 컨텍스트에 모아뒀다가 flush 시점에 SQL 실행
+ *   - savepoint 생성 전에 flush : 외부 트랜잭션의 변경은 savepoint 이전에 DB에 반영
+ *   - savepoint 생성 시점의 영속 엔티티 목록(+ loadedState)을 기록
+ *   - savepoint 롤백 후 내부 트랜잭션에서 생긴 변경만 영속성 컨텍스트에서 되돌림 (clear() 하지 않음)
+ *     -> 아직 실행하지 않은 SQL(ActionQueue) 버림 - savepoint 생성 시 flush 했으므로 남은 것은 모두 내부 트랜잭션의 것
+ *     -> 내부 트랜잭션에서 새로 영속 상태가 된 엔티티 : evict
+ *     -> 외부 트랜잭션의 엔티티 : 내부에서 변경(flush 여부 무관)/삭제되지 않았다면 그대로 영속 상태 유지
+ *        변경된 엔티티는 refresh로 DB(savepoint 시점) 값으로 되돌림, 삭제된 엔티티는 evict
+ *     -> 외부 트랜잭션은 롤백 이후에도 조회했던 엔티티를 다시 조회하지 않고 계속 변경 가능
+ */
+@Slf4j
+public class SavepointHibernateJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        return new SavepointTransactionData(transactionData, entityManager.unwrap(Session.class));
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof SavepointTransactionData savepointData) {
+            transactionData = savepointData.delegate;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    static class SavepointTransactionData implements SavepointManager {
+
+        private final Object delegate;
+        private final Session session;
+        private int savepointCounter;
+
+        SavepointTransactionData(Object delegate, Session session) {
+            this.delegate = delegate;
+            this.session = session;
+        }
+
+        @Override
+        public Object createSavepoint() throws TransactionException {
+            try {
+                session.flush();
+                String name = "SAVEPOINT_" + (++savepointCounter);
+                Savepoint savepoint = session.doReturningWork(con -> con.setSavepoint(name));
+                return new EntitySavepoint(savepoint, managedEntities());
+            } catch (HibernateException e) {
+                throw new CannotCreateTransactionException("Could not create JDBC savepoint", e);
+            }
+        }
+
+        @Override
+        public void rollbackToSavepoint(Object savepoint) throws TransactionException {
+            EntitySavepoint entitySavepoint = (EntitySavepoint) savepoint;
+            try {
+                session.doWork(con -> con.rollback(entitySavepoint.savepoint()));
+                restore(entitySavepoint.loadedStates());
+            } catch (HibernateException e) {
+                throw new TransactionSystemException("Could not roll back to JDBC savepoint", e);
+            }
+        }
+
+        @Override
+        public void releaseSavepoint(Object savepoint) throws TransactionException {
+            try {
+                session.doWork(con -> con.releaseSavepoint(((EntitySavepoint) savepoint).savepoint()));
+            } catch (HibernateException e) {
+                //DataSourceTransactionManager와 동일 - 해제 실패는 무시 (트랜잭션 종료 시 함께 해제됨)
+                log.debug("Could not explicitly release JDBC savepoint", e);
+            }
+        }
+
+        //영속 엔티티 -> savepoint 시점의 loadedState (flush 하면 새 배열로 교체되므로 같은 배열인지로 내부 flush 여부 판단)
+        private Map<Object, Object[]> managedEntities() {
+            Map<Object, Object[]> loadedStates = new IdentityHashMap<>();
+            for (Map.Entry<Object, EntityEntry> entry : persistenceContext().reentrantSafeEntityEntries()) {
+                loadedStates.put(entry.getKey(), entry.getValue().getLoadedState());
+            }
+            return loadedStates;
+        }
+
+        private void restore(Map<Object, Object[]> loadedStates) {
+            SessionImplementor sessionImplementor = session.unwrap(SessionImplementor.class);
+            sessionImplementor.getActionQueue().clear();
+
+            for (Map.Entry<Object, EntityEntry> entry : persistenceContext().reentrantSafeEntityEntries()) {
+                Object entity = entry.getKey();
+                EntityEntry entityEntry = entry.getValue();
+                if (!loadedStates.containsKey(entity) || entityEntry.getStatus() != Status.MANAGED) {
+                    session.evict(entity);
+                } else if (changedInScope(entity, entityEntry, loadedStates.get(entity), sessionImplementor)) {
+                    session.refresh(entity);
+                }
+            }
+        }
+
+        private boolean changedInScope(Object entity, EntityEntry entityEntry, Object[] savepointState,
+                                       SessionImplementor sessionImplementor) {
+            Object[] loadedState = entityEntry.getLoadedState();
+            if (loadedState == null) {
+                return false; //읽기 전용 엔티티 - 변경 감지 대상 아님
+            }
+            if (loadedState != savepointState) {
+                return true; //내부 트랜잭션에서 flush 됨
+            }
+            EntityPersister persister = entityEntry.getPersister();
+            return persister.findDirty(persister.getValues(entity), loadedState, entity, sessionImplementor) != null;
+        }
+
+        private PersistenceContext persistenceContext() {
+            return session.unwrap(SessionImplementor.class).getPersistenceContextInternal();
+        }
+    }
+
+    private record EntitySavepoint(Savepoint savepoint, Map<Object, Object[]> loadedStates) {
+    }
+}
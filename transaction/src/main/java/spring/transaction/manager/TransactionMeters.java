@@ -0,0 +1,51 @@
+package spring.transaction.manager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 트랜잭션 이름 하나에 대한 meter 묶음 - 이름별로 한 번만 생성해서 재사용
+ * * tx.duration    : 시작 ~ 종료 시간 (outcome = commit / rollback / rollback-only / failed)
+ * * tx.begin       : getTransaction() 시간 (트랜잭션 시작 지연) - con 획득 대기 시간으로 사용하면 안 됨
+ *   -> con을 getTransaction()에서 꺼낼 때만 대기가 포함됨
+ *   -> pool 프로필(provider_disables_autocommit), LazyConnectionDataSourceProxy(routing, trusted auto-commit)는
+ *      첫 쿼리 시점에 con을 꺼내므로 거의 0 - 실제 대기는 hikaricp.connections.acquire
+ * * tx.suspensions : 진행 중인 트랜잭션을 보류한 횟수 (REQUIRES_NEW, NOT_SUPPORTED)
+ */
+final class TransactionMeters {
+
+    static final String OUTCOME_COMMIT = "commit";
+    static final String OUTCOME_ROLLBACK = "rollback";
+    static final String OUTCOME_ROLLBACK_ONLY = "rollback-only";
+    static final String OUTCOME_FAILED = "failed";
+
+    final Timer commit;
+    final Timer rollback;
+    final Timer rollbackOnly;
+    final Timer failed;
+    final Timer begin;
+    final Counter suspensions;
+
+    TransactionMeters(MeterRegistry registry, String name) {
+        this.commit = duration(registry, name, OUTCOME_COMMIT);
+        this.rollback = duration(registry, name, OUTCOME_ROLLBACK);
+        this.rollbackOnly = duration(registry, name, OUTCOME_ROLLBACK_ONLY);
+        this.failed = duration(registry, name, OUTCOME_FAILED);
+        this.begin = Timer.builder("tx.begin")
+                .description("getTransaction() 시간 - con 획득 대기는 hikaricp.connections.acquire")
+                .tag("name", name)
+                .register(registry);
+        this.suspensions = Counter.builder("tx.suspensions")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private static Timer duration(MeterRegistry registry, String name, String outcome) {
+        return Timer.builder("tx.duration")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
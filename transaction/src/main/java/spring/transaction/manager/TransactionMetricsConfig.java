@@ -0,0 +1,62 @@
+package spring.transaction.manager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 등록된 모든 PlatformTransactionManager 빈을 MeteredTransactionManager로 감쌈
+ * -> 스프링 부트가 등록한 JpaTransactionManager, 직접 등록한 트랜잭션 매니저 모두 적용
+ * * 다른 BeanPostProcessor의 설정이 끝난 뒤 가장 바깥에서 감싸도록 LOWEST_PRECEDENCE
+ * * ConnectionBudgetTransactionManager는 안쪽 매니저를 감쌈 -> 빈 타입 유지
+ * * tx.metrics.enabled=false 로 끌 수 있음
+ */
+@Configuration
+@ConditionalOnProperty(name = "tx.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionMetricsConfig {
+
+    //BeanPostProcessor는 다른 빈보다 먼저 생성되어야 하므로 static
+    @Bean
+    public static BeanPostProcessor transactionMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TransactionMetricsPostProcessor(meterRegistry);
+    }
+
+    static class TransactionMetricsPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        TransactionMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof ConnectionBudgetTransactionManager budget) {
+                budget.decorateDelegate(this::wrap);
+                return bean;
+            }
+            if (bean instanceof PlatformTransactionManager txManager) {
+                return wrap(txManager);
+            }
+            return bean;
+        }
+
+        private PlatformTransactionManager wrap(PlatformTransactionManager txManager) {
+            if (txManager instanceof MeteredTransactionManager) {
+                return txManager;
+            }
+            return MeteredTransactionManager.of(txManager, meterRegistry::getObject);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
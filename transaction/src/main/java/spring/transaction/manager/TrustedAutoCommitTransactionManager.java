@@ -0,0 +1,21 @@
+package spring.transaction.manager;
+
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import spring.transaction.datasource.TrustedAutoCommitDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * TrustedAutoCommitDataSource를 사용하는 DataSourceTransactionManager
+ * * 빈으로 등록하지 않음 - 애플리케이션의 @Transactional은 JpaTransactionManager 그대로
+ *   -> JPA를 거치지 않는 JDBC 작업에 별도 매니저가 필요할 때 직접 생성 (ex. AutoCommitBenchmark)
+ *   -> 애플리케이션 전체에 적용하려면 매니저가 아닌 DataSource 설정 : datasource.trusted-autocommit.enabled=true
+ *
+ * 주의 : JdbcTemplate 등은 getDataSource()(프록시)를 사용해야 같은 트랜잭션(con)에 참여
+ */
+public class TrustedAutoCommitTransactionManager extends DataSourceTransactionManager {
+
+    public TrustedAutoCommitTransactionManager(DataSource dataSource) {
+        super(TrustedAutoCommitDataSource.wrap(dataSource));
+    }
+}
@@ -0,0 +1,22 @@
+package spring.transaction.manager;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.AdviceMode;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * 컴파일 시점 위빙 모드 (./gradlew build -PtxWeaving)
+ * * 기본 프록시 모드 : 클라이언트 - Transaction Proxy - target
+ *   -> 내부호출은 프록시를 거치지 않으므로 트랜잭션이 적용되지 않음 (InternalCallV1Test)
+ * * ASPECTJ 모드 : 트랜잭션 로직이 target 클래스의 바이트코드에 직접 위빙됨
+ *   -> 프록시 자체가 없으므로 내부호출에도 트랜잭션 적용
+ *   -> AnnotationTransactionAspect에 트랜잭션 매니저만 연결해주면 됨
+ * * 이 설정이 있으면 스프링 부트의 프록시 모드 @EnableTransactionManagement는 적용되지 않음
+ * * 위빙되지 않은 빌드에서 tx.mode=aspectj 로 실행하면 @Transactional이 동작하지 않으므로 주의
+ */
+@Configuration
+@ConditionalOnProperty(name = "tx.mode", havingValue = "aspectj")
+@EnableTransactionManagement(mode = AdviceMode.ASPECTJ)
+public class TxWeavingConfig {
+}
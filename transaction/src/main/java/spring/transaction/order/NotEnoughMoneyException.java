@@ -1,6 +1,8 @@
 package spring.transaction.order;
 
-public class NotEnoughMoneyException extends Exception{
+import spring.transaction.exception.BusinessException;
+
+public class NotEnoughMoneyException extends BusinessException {
 
     public NotEnoughMoneyException(String message) {
         super(message);
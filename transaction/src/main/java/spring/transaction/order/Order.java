@@ -1,22 +1,46 @@
 package spring.transaction.order;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import spring.transaction.id.IdAllocation;
 
 @Entity
-@Table(name = "orders") //DB 예약어 중에 order by 등이 있으므로 order 단어로 테이블 생성하는 것은 좋지 않음
+@Table(name = "orders", //DB 예약어 중에 order by 등이 있으므로 order 단어로 테이블 생성하는 것은 좋지 않음
+        indexes = @Index(name = Order.IDEMPOTENCY_KEY_INDEX, columnList = "idempotency_key", unique = true))
 @Getter
 @Setter
 public class Order {
 
+    //같은 멱등키의 동시 insert 판별에 사용 (OrderFacade)
+    public static final String IDEMPOTENCY_KEY_INDEX = "uk_orders_idempotency_key";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @GenericGenerator(name = "orders_seq", strategy = IdAllocation.GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "orders_seq"),
+            @Parameter(name = "increment_size", value = IdAllocation.ORDER_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = IdAllocation.OPTIMIZER)
+    })
     private Long id;
 
     private String unsername; // 정상, 예외, 잔고부족
     private String payStatus; //대기, 완료
+
+    //클라이언트가 요청마다 생성하는 키 - 타임아웃 후 재시도 등 같은 요청이 다시 들어와도 주문은 한 번만 생성
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    //낙관적 락 - 동시에 같은 주문을 수정하면 나중에 commit 하는 쪽이 OptimisticLockException
+    @Version
+    private Long version;
 }
@@ -0,0 +1,96 @@
+package spring.transaction.order;
+
+import io.r2dbc.spi.R2dbcException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * OrderService.order() 앞단에서 충돌 시 재시도
+ * * 트랜잭션 밖에서 재시도해야 매번 새로운 트랜잭션으로 다시 수행 -> OrderService와 빈을 분리 (내부호출 X)
+ * * 재시도 대상 : 같은 멱등키로 동시에 insert 해서 uk_orders_idempotency_key 위반
+ *   -> 재시도하면 먼저 commit 된 주문을 찾아 그대로 반환 (OrderService.replay)
+ *   -> 다른 제약조건 위반(값 길이 등)은 재시도해도 같은 결과이므로 바로 예외
+ * * order()는 insert만 하므로 낙관적 락(@Version) 충돌은 발생하지 않음 -> 재시도 대상 아님
+ * * 대기 시간은 backoff * 2^(시도-1) 에 지터를 더하고 maxBackoff로 제한
+ */
+@Slf4j
+@Component
+public class OrderFacade {
+
+    private final OrderService orderService;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+
+    public OrderFacade(OrderService orderService,
+                       @Value("${order.retry.max-attempts:3}") int maxAttempts,
+                       @Value("${order.retry.backoff-ms:10}") long backoffMs,
+                       @Value("${order.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.orderService = orderService;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public void order(Order order) throws NotEnoughMoneyException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                orderService.order(order);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                boolean retryable = order.getIdempotencyKey() != null && isIdempotencyKeyConflict(e);
+                if (!retryable || attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.info("주문 멱등키 충돌 - 재시도 attempt={}", attempt);
+                //롤백된 시도에서 할당된 id/version 초기화 -> 다음 시도에서 신규 엔티티로 저장
+                order.setId(null);
+                order.setVersion(null);
+                order.setPayStatus(null);
+                sleep(attempt);
+            }
+        }
+    }
+
+    /**
+     * 멱등키 unique 인덱스 위반인지 확인
+     * * Hibernate가 추출한 제약조건 이름, 없으면 드라이버(JDBC/R2DBC) 예외 메시지에 인덱스 이름이 있는지 확인 (H2는 대문자 + 접미사)
+     */
+    static boolean isIdempotencyKeyConflict(Throwable e) {
+        String index = Order.IDEMPOTENCY_KEY_INDEX.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(index)) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getMessage() != null
+                    && sqlException.getMessage().toLowerCase(Locale.ROOT).contains(index)) {
+                return true;
+            }
+            //논블로킹 경로(ReactiveOrderService) - R2DBC 드라이버 예외
+            if (cause instanceof R2dbcException r2dbcException && r2dbcException.getMessage() != null
+                    && r2dbcException.getMessage().toLowerCase(Locale.ROOT).contains(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void sleep(int attempt) {
+        long backoff = Math.min(maxBackoffMs, backoffMs << (attempt - 1));
+        long jitter = ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        try {
+            Thread.sleep(backoff / 2 + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 재시도 대기 중 인터럽트", e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package spring.transaction.order;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 멱등키 -> 주문 결과 캐시
+ * * 재시도 요청은 대부분 직후에 들어오므로 DB 조회 없이 메모리에서 O(1)로 확인
+ * * 캐시에는 commit 된 주문만 저장 (afterCommit) -> 롤백된 주문의 키는 다시 처리할 수 있어야 함
+ * * 캐시에 없으면 OrderService가 멱등키 unique 인덱스로 DB 조회
+ */
+@Component
+public class OrderIdempotencyCache {
+
+    private final Cache<String, OrderReceipt> cache;
+
+    public OrderIdempotencyCache(@Value("${order.idempotency.cache-size:100000}") long maximumSize,
+                                 @Value("${order.idempotency.cache-ttl-minutes:60}") long ttlMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public Optional<OrderReceipt> find(String idempotencyKey) {
+        return Optional.ofNullable(cache.getIfPresent(idempotencyKey));
+    }
+
+    public void put(String idempotencyKey, OrderReceipt receipt) {
+        cache.put(idempotencyKey, receipt);
+    }
+
+    /**
+     * 현재 트랜잭션이 commit 된 이후에 캐시에 저장
+     * -> commit 시점의 주문 상태(payStatus, version)를 저장하기 위해 order를 그대로 넘겨받음
+     */
+    public void putAfterCommit(String idempotencyKey, Order order) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(idempotencyKey, OrderReceipt.of(order));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(idempotencyKey, OrderReceipt.of(order));
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package spring.transaction.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 결제 결과 결정 + 멱등키 재요청 응답 규칙
+ * * OrderService(JPA)와 ReactiveOrderService(R2DBC)가 같은 규칙을 사용하도록 한 곳에 둠
+ *   -> 저장/조회 방식(블로킹/논블로킹)만 각 서비스가 담당
+ */
+@Slf4j
+@Component
+public class OrderPolicy {
+
+    public static final String PAY_PENDING = "대기";
+    public static final String PAY_COMPLETED = "완료";
+
+    /**
+     * 결제 결과 결정 - 주문(process)과 outbox 재시도(retryPayment)가 모두 이 메서드로만 판단
+     * * 정상 -> 완료, 잔고부족 -> 대기
+     * * 시스템 예외 주문은 null - 주문 처리가 예외를 던지고 어차피 롤백되므로 상태 없음
+     * * 저장 전에 호출 -> persist(insert) 시점의 상태가 INSERT에 그대로 사용됨
+     */
+    public String decidePayStatus(Order order) {
+        return switch (order.getUnsername()) {
+            case "예외" -> null;
+            case "잔고부족" -> PAY_PENDING;
+            default -> PAY_COMPLETED;
+        };
+    }
+
+    /**
+     * 같은 멱등키로 이미 처리된 주문의 결과를 그대로 반환
+     * -> 기존 주문이 잔고부족(대기)이었다면 PENDING_PAYMENT - 호출한 쪽은 같은 예외를 다시 던져서 첫 요청과 같은 응답
+     */
+    public OrderResult replay(Order order, OrderReceipt previous) {
+        log.info("중복 주문 요청 - 기존 결과 반환 idempotencyKey={}, orderId={}",
+                order.getIdempotencyKey(), previous.orderId());
+        order.setId(previous.orderId());
+        order.setPayStatus(previous.payStatus());
+        order.setVersion(previous.version());
+        return result(order);
+    }
+
+    public OrderResult result(Order order) {
+        if (PAY_PENDING.equals(order.getPayStatus())) {
+            return OrderResult.pendingPayment(order);
+        }
+        return OrderResult.completed(order);
+    }
+}
@@ -0,0 +1,11 @@
+package spring.transaction.order;
+
+/**
+ * 처리가 끝난(commit 된) 주문의 결과 - 같은 멱등키로 다시 요청이 오면 이 결과를 그대로 돌려줌
+ */
+public record OrderReceipt(Long orderId, String payStatus, Long version) {
+
+    public static OrderReceipt of(Order order) {
+        return new OrderReceipt(order.getId(), order.getPayStatus(), order.getVersion());
+    }
+}
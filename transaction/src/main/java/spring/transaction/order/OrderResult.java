@@ -0,0 +1,24 @@
+package spring.transaction.order;
+
+/**
+ * OrderService.orderWithResult()의 결과 - 잔고부족을 예외 대신 상태로 반환
+ */
+public record OrderResult(Long orderId, Status status) {
+
+    public enum Status {
+        COMPLETED,       //완료
+        PENDING_PAYMENT  //대기 - 잔고부족, outbox로 결제 재시도
+    }
+
+    static OrderResult completed(Order order) {
+        return new OrderResult(order.getId(), Status.COMPLETED);
+    }
+
+    static OrderResult pendingPayment(Order order) {
+        return new OrderResult(order.getId(), Status.PENDING_PAYMENT);
+    }
+
+    public boolean isPendingPayment() {
+        return status == Status.PENDING_PAYMENT;
+    }
+}
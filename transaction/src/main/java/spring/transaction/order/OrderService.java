@@ -2,8 +2,12 @@ package spring.transaction.order;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import spring.transaction.groupcommit.GroupCommit;
+
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -11,29 +15,132 @@ import org.springframework.transaction.annotation.Transactional;
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderIdempotencyCache idempotencyCache;
+    private final PaymentOutboxRepository outboxRepository;
+    private final OrderPolicy orderPolicy;
+
+    //true(기본) : 결제 결과(payStatus)를 먼저 정하고 저장 -> commit 시 INSERT 한 번 (false면 INSERT + UPDATE)
+    @Value("${order.single-insert:true}")
+    private boolean singleInsert;
 
     //JPA는 트랜잭션 Commit 시점에 스냅샷과 비교한 Order 데이터를 DB에 반영한다
     @Transactional
     public void order(Order order) throws NotEnoughMoneyException {
+        OrderResult result = process(order);
+        if (result.isPendingPayment()) {
+        //비즈니스 예외 - *** CheckedException 발생하지만 data는 Commit 되길 원하는 상황
+            throw new NotEnoughMoneyException("잔고가 부족합니다");
+        }
+    }
+
+    /**
+     * order()와 같은 처리 - 잔고부족을 예외 대신 결과(PENDING_PAYMENT)로 반환
+     * * 예외가 없으므로 당연히 commit -> order()의 CheckedException commit과 같은 결과
+     * * 호출하는 쪽은 try-catch 대신 result.isPendingPayment()로 분기
+     */
+    @Transactional
+    public OrderResult orderWithResult(Order order) {
+        return process(order);
+    }
+
+    /**
+     * orderWithResult()와 같은 처리 - 진행 중인 트랜잭션이 없으면 동시에 들어온 주문과 하나의 트랜잭션으로 묶어서 commit
+     * * 주문마다 savepoint -> 실패한 주문("예외")만 롤백되고 호출한 스레드에만 예외 전달
+     */
+    @GroupCommit
+    @Transactional
+    public OrderResult orderGrouped(Order order) {
+        return process(order);
+    }
+
+    private OrderResult process(Order order) {
         log.info("order 호출");
+        Optional<OrderResult> replayed = replay(order);
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+        String payStatus = orderPolicy.decidePayStatus(order);
+        if (singleInsert) {
+            order.setPayStatus(payStatus);
+        }
         orderRepository.save(order);
+        if (order.getIdempotencyKey() != null) {
+            idempotencyCache.putAfterCommit(order.getIdempotencyKey(), order);
+        }
 
         log.info("결제 프로세스 진입");
-        if (order.getUnsername().equals("예외")) {
+        if (payStatus == null) {
         //시스템 예외
             log.info("시스템 예외 발생");
             throw new RuntimeException("시스템 예외");
-        } else if (order.getUnsername().equals("잔고부족")) {
-        //비즈니스 예외 - *** CheckedException 발생하지만 data는 Commit 되길 원하는 상황
+        }
+        //single-insert : persist 시점에 이미 같은 값 -> 변경 감지 대상 아님 (UPDATE 없음)
+        //그 외 : 영속 상태의 Entity 필드 세팅만 해줘도 commit 시점에 변경 감지로 update 수행
+        order.setPayStatus(payStatus);
+        if (OrderPolicy.PAY_PENDING.equals(payStatus)) {
+        //비즈니스 예외 상황 - 예외를 던질지(order) 결과로 반환할지(orderWithResult)는 호출한 메서드가 결정
             log.info("잔고부족 비즈니스 예외 발생");
-            order.setPayStatus("대기");
-            //Eitntiy 필드 세팅만 해줘도 commit 시점에 update 수행
-            throw new NotEnoughMoneyException("잔고가 부족합니다");
-        } else {
-        //정상 승인
-            log.info("정상 승인");
-            order.setPayStatus("완료");
+            //결제 재시도 이벤트도 같은 트랜잭션에서 저장 -> 주문(대기)과 이벤트가 함께 commit (PaymentOutboxPoller가 처리)
+            outboxRepository.save(new PaymentOutbox(order.getId()));
+            return OrderResult.pendingPayment(order);
         }
+        //정상 승인
+        log.info("정상 승인");
         log.info("결제 프로세스 완료");
+        return OrderResult.completed(order);
+    }
+
+    /**
+     * outbox 이벤트로 대기 주문의 결제를 다시 수행 (PaymentOutboxPoller에서 호출)
+     * * 주문 상태 변경과 이벤트 완료 처리를 하나의 트랜잭션으로 -> 둘 중 하나만 반영되는 경우 없음
+     * * 결제 결과는 주문 시점과 같은 OrderPolicy.decidePayStatus()로 다시 판단
+     *   -> 여전히 잔고부족이면 아무것도 바꾸지 않고 PENDING_PAYMENT 반환 (poller가 실패로 기록 후 재시도)
+     * * 이미 완료된 이벤트, 다른 poller가 다시 가져간 이벤트(lease owner 불일치)는 처리하지 않음 -> Optional.empty()
+     *   -> lease 확인 이후에 다른 poller가 가져간 경우는 PaymentOutbox의 @Version으로 나중에 commit 하는 쪽이 실패
+     */
+    @Transactional
+    public Optional<OrderResult> retryPayment(Long eventId, String owner) {
+        PaymentOutbox event = outboxRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalStateException("outbox 이벤트가 없습니다. eventId=" + eventId));
+        if (event.getStatus() != OutboxStatus.PENDING || !event.isLeasedBy(owner)) {
+            return Optional.empty();
+        }
+        Order order = orderRepository.findById(event.getOrderId())
+                .orElseThrow(() -> new IllegalStateException("주문이 없습니다. orderId=" + event.getOrderId()));
+
+        log.info("결제 재시도 orderId={}, attempts={}", order.getId(), event.getAttempts());
+        if (OrderPolicy.PAY_PENDING.equals(orderPolicy.decidePayStatus(order))) {
+            return Optional.of(OrderResult.pendingPayment(order));
+        }
+        order.setPayStatus(OrderPolicy.PAY_COMPLETED);
+        event.setStatus(OutboxStatus.DONE);
+        event.setLeaseUntil(null);
+        event.setLeaseOwner(null);
+        if (order.getIdempotencyKey() != null) {
+            idempotencyCache.putAfterCommit(order.getIdempotencyKey(), order);
+        }
+        return Optional.of(OrderResult.completed(order));
+    }
+
+    /**
+     * 같은 멱등키로 이미 처리된 주문이 있으면 새로 저장하지 않고 기존 결과를 그대로 반환
+     * -> 기존 주문이 잔고부족(대기)이었다면 PENDING_PAYMENT - order()는 같은 예외를 다시 던져서 첫 요청과 같은 응답
+     */
+    private Optional<OrderResult> replay(Order order) {
+        String key = order.getIdempotencyKey();
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        Optional<OrderReceipt> receipt = idempotencyCache.find(key);
+        if (receipt.isEmpty()) {
+            receipt = orderRepository.findByIdempotencyKey(key).map(OrderReceipt::of);
+            receipt.ifPresent(found -> idempotencyCache.put(key, found));
+        }
+        if (receipt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(orderPolicy.replay(order, receipt.get()));
     }
 }
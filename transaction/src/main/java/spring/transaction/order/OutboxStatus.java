@@ -0,0 +1,7 @@
+package spring.transaction.order;
+
+public enum OutboxStatus {
+    PENDING, //결제 재시도 대기
+    DONE,    //결제 완료
+    FAILED   //최대 재시도 횟수 초과 - 수동 처리 대상
+}
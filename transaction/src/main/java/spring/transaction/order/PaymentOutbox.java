@@ -0,0 +1,68 @@
+package spring.transaction.order;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import spring.transaction.id.IdAllocation;
+
+import java.time.Instant;
+
+/**
+ * 잔고부족으로 대기 상태가 된 주문의 결제 재시도 이벤트 (transactional outbox)
+ * * 주문과 같은 트랜잭션에서 저장 -> 주문이 commit 되면 이벤트도 반드시 존재, 롤백되면 이벤트도 없음
+ * * PaymentOutboxPoller가 요청 스레드와 별도로 꺼내서 결제를 다시 수행
+ * * leaseUntil : 이벤트를 가져간 poller가 처리 중인 기한 - 처리 도중 죽으면 기한이 지난 뒤 다른 poller가 다시 가져감
+ * * leaseOwner : 이벤트를 가져간 claim의 토큰 - 기한이 지나 다른 poller가 다시 가져갔다면 이전 poller는 처리하지 않음
+ * * version    : lease 확인과 commit 사이에 다른 poller가 가져간 경우 나중에 commit 하는 쪽이 실패 (낙관적 락)
+ */
+@Entity
+@Table(name = "payment_outbox",
+        indexes = @Index(name = "idx_payment_outbox_status_lease", columnList = "status, leaseUntil"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PaymentOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_outbox_seq")
+    @GenericGenerator(name = "payment_outbox_seq", strategy = IdAllocation.GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "payment_outbox_seq"),
+            @Parameter(name = "increment_size", value = IdAllocation.OUTBOX_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = IdAllocation.OPTIMIZER)
+    })
+    private Long id;
+
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    private int attempts;
+    private Instant leaseUntil;
+    private String leaseOwner;
+    private Instant createdAt;
+
+    @Version
+    private Long version;
+
+    public PaymentOutbox(Long orderId) {
+        this.orderId = orderId;
+        this.status = OutboxStatus.PENDING;
+        this.createdAt = Instant.now();
+    }
+
+    public boolean isLeasedBy(String owner) {
+        return owner != null && owner.equals(leaseOwner);
+    }
+}
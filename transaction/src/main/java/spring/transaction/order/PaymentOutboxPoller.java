@@ -0,0 +1,153 @@
+package spring.transaction.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * outbox 이벤트를 가져가서 결제를 다시 수행하는 백그라운드 poller
+ * * parallelism 만큼의 스레드가 각자 claim -> 처리를 반복
+ *   -> skip locked로 서로 다른 이벤트를 가져가므로 스레드(또는 애플리케이션 인스턴스)를 늘리면 처리량도 증가
+ * * 이벤트 하나의 처리 = OrderService.retryPayment() 트랜잭션 하나 -> 실패해도 같은 batch의 다른 이벤트에 영향 없음
+ * * 잔고가 여전히 부족하면 실패로 기록 -> retry-delay 이후 다시 시도, max-attempts 이후 FAILED
+ * * lease를 잃은 이벤트(다른 poller가 다시 가져감)는 건너뜀
+ * * 가져갈 이벤트가 없으면 poll-interval 만큼 대기
+ *
+ * order.outbox.enabled=false(기본값) 인 경우 스레드를 띄우지 않음 - pollOnce()로 직접 처리 가능
+ */
+@Slf4j
+@Component
+public class PaymentOutboxPoller implements InitializingBean, DisposableBean {
+
+    private final PaymentOutboxService outboxService;
+    private final OrderService orderService;
+    private final boolean enabled;
+    private final int parallelism;
+    private final int batchSize;
+    private final Duration lease;
+    private final long pollIntervalMs;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private final List<Thread> workers = new ArrayList<>();
+
+    public PaymentOutboxPoller(PaymentOutboxService outboxService,
+                               OrderService orderService,
+                               @Value("${order.outbox.enabled:false}") boolean enabled,
+                               @Value("${order.outbox.parallelism:2}") int parallelism,
+                               @Value("${order.outbox.batch-size:50}") int batchSize,
+                               @Value("${order.outbox.lease-ms:30000}") long leaseMs,
+                               @Value("${order.outbox.poll-interval-ms:500}") long pollIntervalMs,
+                               @Value("${order.outbox.max-attempts:5}") int maxAttempts,
+                               @Value("${order.outbox.retry-delay-ms:5000}") long retryDelayMs) {
+        this.outboxService = outboxService;
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofMillis(retryDelayMs);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < parallelism; i++) {
+            Thread worker = new Thread(this::pollLoop, "payment-outbox-poller-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            worker.join(lease.toMillis());
+        }
+    }
+
+    /**
+     * batch 하나를 가져와서 처리
+     * @return 가져간 이벤트 수
+     */
+    public int pollOnce() {
+        String owner = UUID.randomUUID().toString();
+        List<Long> eventIds = outboxService.claim(owner, batchSize, lease);
+        for (Long eventId : eventIds) {
+            try {
+                Optional<OrderResult> result = orderService.retryPayment(eventId, owner);
+                if (result.isEmpty()) {
+                    continue;
+                }
+                if (result.get().isPendingPayment()) {
+                    log.info("결제 재시도 - 잔고 부족 eventId={}", eventId);
+                    failed.incrementAndGet();
+                    outboxService.fail(eventId, owner, maxAttempts, retryDelay);
+                    continue;
+                }
+                completed.incrementAndGet();
+            } catch (OptimisticLockingFailureException e) {
+                //처리 도중 다른 poller가 같은 이벤트를 가져가서 먼저 commit
+                log.info("결제 재시도 생략 - lease를 잃음 eventId={}", eventId);
+            } catch (RuntimeException e) {
+                log.info("결제 재시도 실패 eventId={}, cause={}", eventId, e.getMessage());
+                failed.incrementAndGet();
+                outboxService.fail(eventId, owner, maxAttempts, retryDelay);
+            }
+        }
+        return eventIds.size();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                if (pollOnce() == 0) {
+                    TimeUnit.MILLISECONDS.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                //claim 자체가 실패(DB 장애 등) - 잠시 후 다시 시도
+                log.warn("outbox poll 실패", e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(pollIntervalMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package spring.transaction.order;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+
+    /**
+     * 처리 가능한 이벤트를 batch 크기만큼 잠금
+     * * PESSIMISTIC_WRITE + lock timeout -2(LockOptions.SKIP_LOCKED) -> select ... for update skip locked
+     *   -> 다른 poller가 잠근 row는 기다리지 않고 건너뜀 = poller 끼리 같은 이벤트를 두고 경합하지 않음
+     * * skip locked를 지원하지 않는 DB는 일반 for update로 동작 - 잠금 대기 후 lease 조건으로 다시 걸러짐
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from PaymentOutbox o"
+            + " where o.status = spring.transaction.order.OutboxStatus.PENDING"
+            + " and (o.leaseUntil is null or o.leaseUntil < :now)"
+            + " order by o.id")
+    List<PaymentOutbox> findClaimable(@Param("now") Instant now, Pageable pageable);
+
+    Optional<PaymentOutbox> findByOrderId(Long orderId);
+}
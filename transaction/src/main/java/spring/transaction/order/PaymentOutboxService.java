@@ -0,0 +1,62 @@
+package spring.transaction.order;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * outbox 이벤트의 lease 관리
+ * * claim : 이벤트를 잠그고 lease만 기록한 뒤 바로 commit -> row 잠금은 짧게, 결제 처리는 이벤트별 별도 트랜잭션
+ *   -> 결제 처리 중에 잠금을 잡고 있지 않으므로 한 이벤트가 느려도 다른 poller를 막지 않음
+ * * 시도 횟수는 claim 시점에 증가 -> 처리 도중 죽어서 lease가 만료된 경우도 시도 횟수에 포함
+ * * claim마다 owner 토큰을 기록 -> 처리/실패 기록은 lease를 가진 owner만 가능
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentOutboxService {
+
+    private final PaymentOutboxRepository outboxRepository;
+
+    @Transactional
+    public List<Long> claim(String owner, int batchSize, Duration lease) {
+        Instant now = Instant.now();
+        List<PaymentOutbox> events = outboxRepository.findClaimable(now, PageRequest.ofSize(batchSize));
+        for (PaymentOutbox event : events) {
+            event.setLeaseUntil(now.plus(lease));
+            event.setLeaseOwner(owner);
+            event.setAttempts(event.getAttempts() + 1);
+        }
+        return events.stream().map(PaymentOutbox::getId).toList();
+    }
+
+    /**
+     * 결제 재시도 실패 (잔고 여전히 부족, 주문 조회 실패 등)
+     * - maxAttempts 미만 : retryDelay 이후 다시 가져가도록 lease 연장
+     * - maxAttempts 도달 : FAILED - 더 이상 가져가지 않음
+     * * 이미 다른 poller가 가져간 이벤트(owner 불일치)는 그대로 둠
+     */
+    @Transactional
+    public void fail(Long eventId, String owner, int maxAttempts, Duration retryDelay) {
+        outboxRepository.findById(eventId).ifPresent(event -> {
+            if (event.getStatus() != OutboxStatus.PENDING || !event.isLeasedBy(owner)) {
+                log.info("lease를 잃은 이벤트 - 실패 기록 생략 eventId={}", eventId);
+                return;
+            }
+            if (event.getAttempts() >= maxAttempts) {
+                log.warn("결제 재시도 횟수 초과 eventId={}, orderId={}", eventId, event.getOrderId());
+                event.setStatus(OutboxStatus.FAILED);
+                event.setLeaseUntil(null);
+                event.setLeaseOwner(null);
+                return;
+            }
+            event.setLeaseUntil(Instant.now().plus(retryDelay));
+        });
+    }
+}
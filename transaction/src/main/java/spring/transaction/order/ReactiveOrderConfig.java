@@ -0,0 +1,71 @@
+package spring.transaction.order;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+
+/**
+ * 논블로킹 주문 경로 (ReactiveOrderService) 설정 - order.reactive.enabled=true 인 경우에만 등록
+ * -> 블로킹(JPA) 경로는 이 설정과 관계없이 시작
+ * * 접속 대상
+ *   - order.reactive.r2dbc-url 설정 시 : 그 url (JPA와 같은 스키마 - orders, orders_seq, payment_outbox - 여야 함)
+ *   - 미설정 시 : spring.datasource(JPA)의 H2 url을 그대로 사용 -> 같은 DB, ddl-auto가 만든 테이블 공유
+ *     -> H2가 아닌 DB라면 시작 실패 (r2dbc-url 설정 필요)
+ * * ConnectionFactory, R2dbcTransactionManager는 빈으로 등록하지 않고 이 설정 안에서만 사용
+ *   - ConnectionFactory 빈 -> 스프링 부트 DataSource 자동 설정이 생략되어 JPA 쪽이 동작하지 않음
+ *   - TransactionManager 빈 2개 -> @Transactional이 어떤 매니저를 쓸지 결정하지 못함
+ *   - 같은 이유로 R2DBC 자동 설정은 TransactionApplication에서 제외
+ * * 외부에는 DatabaseClient, TransactionalOperator만 노출
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.reactive.enabled", havingValue = "true")
+public class ReactiveOrderConfig {
+
+    private static final String JDBC_H2_PREFIX = "jdbc:h2:";
+
+    private final ConnectionFactory connectionFactory;
+
+    public ReactiveOrderConfig(DataSourceProperties properties,
+                               @Value("${order.reactive.r2dbc-url:}") String r2dbcUrl) {
+        this.connectionFactory = StringUtils.hasText(r2dbcUrl)
+                ? ConnectionFactories.get(r2dbcUrl)
+                : sharedH2(properties);
+    }
+
+    private static ConnectionFactory sharedH2(DataSourceProperties properties) {
+        return new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .url(h2Url(properties.determineUrl()))
+                .username(properties.determineUsername())
+                .password(properties.determinePassword())
+                .build());
+    }
+
+    //H2ConnectionConfiguration.url은 jdbc:h2: 뒤의 부분만 받음 (mem:이름;옵션...)
+    static String h2Url(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith(JDBC_H2_PREFIX)) {
+            throw new IllegalStateException("order.reactive.enabled=true 이지만 spring.datasource.url이 H2가 아닙니다 ("
+                    + jdbcUrl + "). order.reactive.r2dbc-url 로 R2DBC 접속 url을 지정하세요.");
+        }
+        return jdbcUrl.substring(JDBC_H2_PREFIX.length());
+    }
+
+    @Bean
+    public DatabaseClient reactiveOrderDatabaseClient() {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveOrderTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
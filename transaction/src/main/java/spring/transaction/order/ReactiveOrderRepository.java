@@ -0,0 +1,93 @@
+package spring.transaction.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * OrderRepository(JPA)의 R2DBC 버전
+ * * 영속성 컨텍스트/변경 감지가 없음 -> 결제 결과를 먼저 정하고 INSERT 한 번으로 저장 (single-insert와 동일)
+ * * 진행 중인 TransactionalOperator 트랜잭션이 있으면 같은 con(Reactor Context)에 참여
+ * * JPA와 같은 테이블을 사용하므로 JPA 매핑과 같은 규칙을 직접 지킴
+ *   - id : orders_seq / payment_outbox_seq 시퀀스 - JPA(pooled-lo)는 시퀀스 값 하나로 allocationSize 만큼을 할당하므로
+ *          여기서 가져간 시퀀스 값의 구간은 JPA가 사용하지 않음 -> id 충돌 없음 (구간의 나머지는 버려짐)
+ *   - version : insert 시 0 (@Version과 동일)
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.reactive.enabled", havingValue = "true")
+public class ReactiveOrderRepository {
+
+    private final DatabaseClient client;
+
+    public Mono<Order> save(Order order) {
+        return nextValue("orders_seq")
+                .flatMap(id -> {
+                    DatabaseClient.GenericExecuteSpec spec = client.sql("insert into orders"
+                                    + " (id, unsername, pay_status, idempotency_key, version)"
+                                    + " values (:id, :unsername, :payStatus, :idempotencyKey, 0)")
+                            .bind("id", id);
+                    spec = bindNullable(spec, "unsername", order.getUnsername());
+                    spec = bindNullable(spec, "payStatus", order.getPayStatus());
+                    spec = bindNullable(spec, "idempotencyKey", order.getIdempotencyKey());
+                    return spec.then().then(Mono.fromSupplier(() -> {
+                        order.setId(id);
+                        order.setVersion(0L);
+                        return order;
+                    }));
+                });
+    }
+
+    /**
+     * 결제 재시도 이벤트 저장 (PaymentOutbox와 같은 초기 상태 - PENDING, attempts 0)
+     * -> 주문과 같은 트랜잭션에서 호출하면 주문(대기)과 이벤트가 함께 commit (PaymentOutboxPoller가 처리)
+     */
+    public Mono<Long> saveOutbox(Long orderId) {
+        return nextValue("payment_outbox_seq")
+                .flatMap(id -> client.sql("insert into payment_outbox"
+                                + " (id, order_id, status, attempts, created_at, version)"
+                                + " values (:id, :orderId, :status, 0, current_timestamp, 0)")
+                        .bind("id", id)
+                        .bind("orderId", orderId)
+                        .bind("status", OutboxStatus.PENDING.name())
+                        .then()
+                        .thenReturn(id));
+    }
+
+    public Mono<Order> findById(Long id) {
+        return findOne("id", id);
+    }
+
+    public Mono<Order> findByIdempotencyKey(String idempotencyKey) {
+        return findOne("idempotency_key", idempotencyKey);
+    }
+
+    private Mono<Order> findOne(String column, Object value) {
+        return client.sql("select id, unsername, pay_status, idempotency_key, version from orders"
+                        + " where " + column + " = :value")
+                .bind("value", value)
+                .map(row -> {
+                    Order order = new Order();
+                    order.setId(row.get("id", Long.class));
+                    order.setUnsername(row.get("unsername", String.class));
+                    order.setPayStatus(row.get("pay_status", String.class));
+                    order.setIdempotencyKey(row.get("idempotency_key", String.class));
+                    order.setVersion(row.get("version", Long.class));
+                    return order;
+                })
+                .one();
+    }
+
+    private Mono<Long> nextValue(String sequence) {
+        return client.sql("select next value for " + sequence)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+}
@@ -0,0 +1,100 @@
+package spring.transaction.order;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * OrderService의 논블로킹 버전 (R2DBC + TransactionalOperator) - order.reactive.enabled=true 인 경우에만 등록
+ * * 호출 스레드(Netty worker 등)는 commit을 기다리지 않고 바로 반환 -> 결과는 Mono로 전달
+ * * 결제 결과 결정, 멱등키 재요청 응답은 OrderService와 같은 OrderPolicy 사용
+ *
+ * * 롤백 규칙은 OrderService(@Transactional)와 동일하게 유지
+ *   - TransactionalOperator는 @Transactional과 달리 '모든' 에러 신호에 롤백 (rollbackOn 규칙 없음)
+ *   - 시스템 예외(RuntimeException) : 그대로 에러 신호 -> 롤백
+ *   - 비즈니스 예외(잔고부족) : 트랜잭션 경계 안에서는 결과(OrderResult)로 전달해서 commit
+ *     -> 트랜잭션이 끝난 뒤에 NotEnoughMoneyException 에러 신호로 변환 - 호출자는 OrderService와 같은 예외를 받음
+ * * 잔고부족 주문은 outbox 이벤트(PaymentOutbox)도 같은 트랜잭션에서 저장 -> PaymentOutboxPoller가 결제 재시도
+ * * 같은 멱등키의 동시 insert(uk_orders_idempotency_key 위반)는 한 번 더 실행 -> 먼저 commit 된 주문을 그대로 반환 (OrderFacade와 동일)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.reactive.enabled", havingValue = "true")
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository reactiveOrderRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final OrderIdempotencyCache idempotencyCache;
+    private final OrderPolicy orderPolicy;
+
+    public Mono<Order> order(Order order) {
+        return orderOnce(order)
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    if (order.getIdempotencyKey() == null || !OrderFacade.isIdempotencyKeyConflict(e)) {
+                        return Mono.error(e);
+                    }
+                    log.info("주문 멱등키 충돌 - 재시도");
+                    //롤백된 시도에서 할당된 id/version 초기화
+                    order.setId(null);
+                    order.setVersion(null);
+                    order.setPayStatus(null);
+                    return orderOnce(order);
+                })
+                .flatMap(result -> result.isPendingPayment()
+                        ? Mono.error(new NotEnoughMoneyException("잔고가 부족합니다"))
+                        : Mono.just(order));
+    }
+
+    //트랜잭션 하나 - commit 이후에 멱등키 캐시 저장 (캐시에는 commit 된 주문만)
+    private Mono<OrderResult> orderOnce(Order order) {
+        return Mono.defer(() -> process(order))
+                .as(transactionalOperator::transactional)
+                .doOnNext(result -> {
+                    if (order.getIdempotencyKey() != null) {
+                        idempotencyCache.put(order.getIdempotencyKey(), OrderReceipt.of(order));
+                    }
+                });
+    }
+
+    private Mono<OrderResult> process(Order order) {
+        log.info("order 호출");
+        return replay(order).switchIfEmpty(Mono.defer(() -> placeOrder(order)));
+    }
+
+    private Mono<OrderResult> placeOrder(Order order) {
+        String payStatus = orderPolicy.decidePayStatus(order);
+        order.setPayStatus(payStatus);
+        return reactiveOrderRepository.save(order)
+                .flatMap(saved -> {
+                    log.info("결제 프로세스 진입");
+                    if (payStatus == null) {
+                        log.info("시스템 예외 발생");
+                        return Mono.error(new RuntimeException("시스템 예외"));
+                    }
+                    if (OrderPolicy.PAY_PENDING.equals(payStatus)) {
+                        log.info("잔고부족 비즈니스 예외 발생");
+                        return reactiveOrderRepository.saveOutbox(saved.getId())
+                                .thenReturn(OrderResult.pendingPayment(saved));
+                    }
+                    log.info("정상 승인");
+                    return Mono.just(OrderResult.completed(saved));
+                });
+    }
+
+    //OrderService.replay()와 같은 순서 - 캐시 -> 멱등키 unique 인덱스로 DB 조회
+    private Mono<OrderResult> replay(Order order) {
+        String key = order.getIdempotencyKey();
+        if (key == null) {
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(idempotencyCache.find(key))
+                .switchIfEmpty(Mono.defer(() -> reactiveOrderRepository.findByIdempotencyKey(key)
+                        .map(OrderReceipt::of)))
+                .map(receipt -> orderPolicy.replay(order, receipt));
+    }
+}
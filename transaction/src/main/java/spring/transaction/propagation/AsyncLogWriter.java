@@ -0,0 +1,258 @@
+package spring.transaction.propagation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LogRepository.save()를 요청마다 REQUIRES_NEW로 호출하면 하나의 요청이 con 2개를 동시에 점유
+ * -> 로그는 bounded queue에 적재만 하고, 백그라운드 스레드가 모아서 하나의 트랜잭션(saveBatch)으로 저장
+ * -> 로그 저장은 member 트랜잭션과 완전히 분리되므로 '로그 실패가 member를 롤백시키지 않는다'는 joinV2의 보장은 유지
+ *
+ * * 트랜잭션 안에서 호출하면 commit 이후(afterCommit)에 큐에 적재 -> 롤백된 member의 로그는 저장되지 않음
+ * * SPILL 정책은 log.async.spill-path를 직접 지정해야 함 (실행 디렉터리에 따라 다른 파일을 재적재하지 않도록)
+ *
+ * log.async.enabled=false(기본값) 인 경우 기존처럼 호출 스레드에서 바로 LogRepository.save()를 호출
+ */
+@Slf4j
+@Component
+public class AsyncLogWriter implements InitializingBean, DisposableBean {
+
+    private final LogRepository logRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final LogBackpressurePolicy policy;
+    private final Path spillPath;
+    private final BlockingQueue<Log> queue;
+
+    //큐에 적재됐지만 아직 저장(또는 실패 처리)이 끝나지 않은 로그 수
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AsyncLogWriter(LogRepository logRepository,
+                          @Value("${log.async.enabled:false}") boolean enabled,
+                          @Value("${log.async.queue-capacity:10000}") int queueCapacity,
+                          @Value("${log.async.batch-size:100}") int batchSize,
+                          @Value("${log.async.flush-interval-ms:50}") long flushIntervalMs,
+                          @Value("${log.async.backpressure:BLOCK}") LogBackpressurePolicy policy,
+                          @Value("${log.async.spill-path:}") String spillPath) {
+        if (enabled && policy == LogBackpressurePolicy.SPILL && !StringUtils.hasText(spillPath)) {
+            throw new IllegalStateException("log.async.backpressure=SPILL 인 경우 log.async.spill-path를 지정해야 합니다.");
+        }
+        this.logRepository = logRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.policy = policy;
+        this.spillPath = StringUtils.hasText(spillPath) ? Path.of(spillPath) : null;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "async-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+        replaySpilled();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+    }
+
+    public void write(Log logMessage) {
+        if (!enabled) {
+            //기존 joinV2와 동일 - 로그 실패는 정상 흐름으로 복구
+            try {
+                logRepository.save(logMessage);
+            } catch (RuntimeException e) {
+                log.info("log 저장에 실패했습니다. message={}", logMessage.getMessage());
+            }
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(logMessage);
+                }
+            });
+            return;
+        }
+        enqueue(logMessage);
+    }
+
+    private void enqueue(Log logMessage) {
+        pending.incrementAndGet();
+        boolean accepted = queue.offer(logMessage);
+        if (accepted) {
+            return;
+        }
+
+        switch (policy) {
+            case BLOCK -> {
+                try {
+                    queue.put(logMessage);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    pending.decrementAndGet();
+                }
+            }
+            case DROP -> {
+                log.warn("log 큐 포화 - 로그 버림 message={}", logMessage.getMessage());
+                dropped.incrementAndGet();
+                pending.decrementAndGet();
+            }
+            case SPILL -> {
+                spill(logMessage);
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 큐에 쌓인 로그가 모두 처리될 때까지 대기
+     */
+    public boolean awaitFlush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    private void drainLoop() {
+        List<Log> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Log first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                //종료 요청 - 남아있는 로그는 현재 스레드에서 마저 저장
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    //flush interval 동안 batchSize 만큼 모일 때까지 추가로 대기
+    private void fillBatch(List<Log> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Log next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Log> batch) {
+        try {
+            int saved = logRepository.saveBatchOrEach(batch);
+            written.addAndGet(saved);
+            failed.addAndGet(batch.size() - saved);
+        } finally {
+            pending.addAndGet(-batch.size());
+        }
+    }
+
+    private synchronized void spill(Log logMessage) {
+        try {
+            Files.writeString(spillPath, logMessage.getMessage() + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            spilled.incrementAndGet();
+        } catch (IOException e) {
+            log.warn("log spill 실패 - 로그 버림 message={}", logMessage.getMessage(), e);
+            dropped.incrementAndGet();
+        }
+    }
+
+    //이전 실행에서 파일로 넘친 로그를 다시 큐에 적재
+    private synchronized void replaySpilled() {
+        if (spillPath == null || !Files.exists(spillPath)) {
+            return;
+        }
+        try {
+            List<String> messages = Files.readAllLines(spillPath, StandardCharsets.UTF_8);
+            Files.delete(spillPath);
+            log.info("spill된 로그 재적재 size={}", messages.size());
+            for (String message : messages) {
+                write(new Log(message));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,21 +1,38 @@
 package spring.transaction.propagation;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import spring.transaction.id.IdAllocation;
 
 /**
  * Server가 아닌 DB에 남기기 위한 로그
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) //2차 캐시는 commit 이후에만 반영 (cache 프로필)
+@Table(indexes = @Index(name = "idx_log_message", columnList = "message")) //message로 조회 - 전체 스캔 방지
 @Getter
 @Setter
 public class Log {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "log_seq")
+    @GenericGenerator(name = "log_seq", strategy = IdAllocation.GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "log_seq"),
+            @Parameter(name = "increment_size", value = IdAllocation.LOG_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = IdAllocation.OPTIMIZER)
+    })
     private Long id;
 
     private String message;
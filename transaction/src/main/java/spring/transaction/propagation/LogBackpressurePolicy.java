@@ -0,0 +1,10 @@
+package spring.transaction.propagation;
+
+/**
+ * AsyncLogWriter의 큐가 가득 찼을 때의 처리 방식
+ */
+public enum LogBackpressurePolicy {
+    BLOCK, //큐에 자리가 날 때까지 호출 스레드 대기
+    DROP,  //로그를 버리고 카운트만 남김
+    SPILL  //파일에 적어두고 다음 기동 시 다시 큐에 적재
+}
@@ -3,11 +3,26 @@ package spring.transaction.propagation;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Slf4j
 @Repository
@@ -16,6 +31,22 @@ public class LogRepository {
 
     private final EntityManager em;
 
+    //hibernate.jdbc.batch_size 단위로 flush/clear 해서 영속성 컨텍스트가 무한히 커지지 않도록 유지
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    //saveAll() - 한 트랜잭션(commit)에 저장할 로그 수
+    @Value("${log.bulk.chunk-size:10000}")
+    private int bulkChunkSize;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    //saveBatchOrEach(), saveAll()에서 트랜잭션 메서드를 프록시를 거쳐 호출하기 위한 자기 자신 (내부 호출 문제)
+    @Lazy
+    @Autowired
+    private LogRepository self;
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void save(Log logMessage) {
         log.info("log 저장");
@@ -27,9 +58,176 @@ public class LogRepository {
         }
     }
 
+    /**
+     * save()와 같지만 NESTED - 외부 트랜잭션의 con에서 savepoint로 분리
+     * -> 실패하면 savepoint까지만 롤백되고 외부 트랜잭션은 계속 진행 (rollback-only 마킹 없음)
+     * -> REQUIRES_NEW와 달리 외부 트랜잭션이 롤백되면 로그도 함께 롤백
+     */
+    @Transactional(propagation = Propagation.NESTED)
+    public void saveNested(Log logMessage) {
+        log.info("log 저장 (NESTED)");
+        em.persist(logMessage);
+
+        if (logMessage.getMessage().contains("로그예외")) {
+            log.info("log 저장 시 예외 발생");
+            throw new RuntimeException("예외 발생");
+        }
+    }
+
+    /**
+     * 여러 건의 로그를 하나의 트랜잭션(REQUIRES_NEW)으로 묶어서 저장
+     * -> 한 건이라도 실패하면 묶음 전체가 롤백되므로, 호출하는 쪽에서 건별 save()로 다시 시도해야 함
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveBatch(List<Log> logMessages) {
+        log.info("log 일괄 저장 size={}", logMessages.size());
+        for (int i = 0; i < logMessages.size(); i++) {
+            Log logMessage = logMessages.get(i);
+            em.persist(logMessage);
+
+            if (logMessage.getMessage().contains("로그예외")) {
+                log.info("log 일괄 저장 시 예외 발생");
+                throw new RuntimeException("예외 발생");
+            }
+
+            if ((i + 1) % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+    }
+
+    /**
+     * saveBatch()로 묶어서 저장하고, 실패하면 건별 save()로 다시 저장해서 실패한 로그만 버림
+     * * saveBatch(), save() 모두 REQUIRES_NEW -> 호출한 쪽의 트랜잭션에 영향 없음
+     * * 이 메서드 자체는 트랜잭션 없음 - 묶음 롤백 후 건별 저장을 각각의 트랜잭션으로 실행해야 하므로
+     * @return 저장한 건수 (logMessages.size()와의 차이가 실패 건수)
+     */
+    public int saveBatchOrEach(List<Log> logMessages) {
+        try {
+            self.saveBatch(logMessages);
+            return logMessages.size();
+        } catch (RuntimeException e) {
+            //롤백된 엔티티는 id가 할당된 상태이므로 새 인스턴스로 저장
+            log.info("log 일괄 저장 실패 - 건별 저장으로 전환 size={}", logMessages.size());
+            int saved = 0;
+            for (Log logMessage : logMessages) {
+                try {
+                    self.save(new Log(logMessage.getMessage()));
+                    saved++;
+                } catch (RuntimeException ex) {
+                    log.info("log 저장에 실패했습니다. message={}", logMessage.getMessage());
+                }
+            }
+            return saved;
+        }
+    }
+
+    /**
+     * 대량 로그 적재 - Stream을 bulk.chunk-size 건씩 꺼내서 chunk마다 별도 트랜잭션(insertChunk)으로 commit
+     * * 한 트랜잭션에 전부 넣으면 수천만 건 동안 con과 undo 로그를 계속 잡고 있음 -> chunk 단위로 끊어서 commit
+     * * 실패하면 실패한 chunk만 롤백 - 이전 chunk는 이미 commit 된 상태로 예외 전달 (호출하는 쪽에서 이어서 적재)
+     * * 받은 Stream은 다 쓰면 닫음 (DB 커서, 파일 등을 감싼 Stream의 자원 반납)
+     * * 이 메서드 자체는 트랜잭션 없음 - chunk마다 commit 해야 하므로
+     * @return 저장한 건수
+     */
+    public long saveAll(Stream<Log> logMessages) {
+        long count = 0;
+        try (logMessages) {
+            List<Log> chunk = new ArrayList<>(bulkChunkSize);
+            Iterator<Log> iterator = logMessages.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == bulkChunkSize) {
+                    count += self.insertChunk(chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                count += self.insertChunk(chunk);
+            }
+        }
+        log.info("log 대량 저장 size={}", count);
+        return count;
+    }
+
+    /**
+     * saveAll()의 chunk 하나를 JDBC batch로 insert (REQUIRES_NEW)
+     * * 로그는 저장 후 같은 작업 단위에서 다시 조회하지 않음 -> 영속성 컨텍스트(1차 캐시, 스냅샷, 변경 감지)가 필요 없음
+     *   -> PreparedStatement 하나에 addBatch() - hibernate.jdbc.batch_size 건마다 executeBatch()
+     *   -> Hibernate 6.1의 StatelessSession.insert()는 건마다 바로 INSERT를 실행하므로 사용하지 않음
+     * * id는 엔티티와 같은 generator(log_seq + pooled-lo)로 할당 -> em.persist()로 저장하는 로그와 id 충돌 없음
+     * * Hibernate를 거치지 않은 insert -> commit 후 쿼리 캐시(cache 프로필)를 비워서 이전 조회 결과가 남지 않도록
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int insertChunk(List<Log> logMessages) {
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+        SessionFactoryImplementor sessionFactory = session.getFactory();
+        IdentifierGenerator generator = sessionFactory.getRuntimeMetamodels().getMappingMetamodel()
+                .getEntityDescriptor(Log.class)
+                .getIdentifierGenerator();
+        for (Log logMessage : logMessages) {
+            logMessage.setId((Long) generator.generate(session, logMessage));
+        }
+
+        session.doWork(con -> {
+            try (PreparedStatement statement = con.prepareStatement("insert into log (id, message) values (?, ?)")) {
+                int pending = 0;
+                for (Log logMessage : logMessages) {
+                    statement.setLong(1, logMessage.getId());
+                    statement.setString(2, logMessage.getMessage());
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionFactory.getCache().evictQueryRegions();
+            }
+        });
+        return logMessages.size();
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Log> find(String message) {
         return em.createQuery("select l from Log l where l.message = :message", Log.class)
                 .setParameter("message", message)
+                .setHint(HibernateHints.HINT_CACHEABLE, true) //쿼리 캐시 (cache 프로필에서만 동작)
+                .setMaxResults(1)
                 .getResultList().stream().findAny();
     }
+
+    @Transactional(readOnly = true)
+    public boolean exists(String message) {
+        return !em.createQuery("select l.id from Log l where l.message = :message", Long.class)
+                .setParameter("message", message)
+                .setMaxResults(1)
+                .getResultList().isEmpty();
+    }
+
+    /**
+     * message가 prefix로 시작하는 로그를 커서로 하나씩 조회 - MemberRepository.streamAll()과 같은 방식
+     * * like 검색어의 %, _ 는 escape -> prefix 그대로 비교 (idx_log_message 인덱스 범위 검색)
+     */
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Log> streamByMessagePrefix(String prefix) {
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        Stream<Log> logs = em.createQuery(
+                        "select l from Log l where l.message like :pattern escape '\\' order by l.id", Log.class)
+                .setParameter("pattern", pattern)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream();
+        return logs.peek(em::detach);
+    }
 }
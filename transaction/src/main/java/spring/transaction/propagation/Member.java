@@ -1,18 +1,35 @@
 package spring.transaction.propagation;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import spring.transaction.id.IdAllocation;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) //2차 캐시는 commit 이후에만 반영 (cache 프로필)
+@Table(indexes = @Index(name = "uk_member_username", columnList = "username", unique = true)) //username으로 조회 - 전체 스캔 방지
 @Getter
 @Setter
 public class Member {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq")
+    @GenericGenerator(name = "member_seq", strategy = IdAllocation.GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "member_seq"),
+            @Parameter(name = "increment_size", value = IdAllocation.MEMBER_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = IdAllocation.OPTIMIZER)
+    })
     private Long id;
 
     private String username;
@@ -3,11 +3,16 @@ package spring.transaction.propagation;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * SpringDataJPA의 repository를 사용하지 않고, 직접 JPA를 사용하게끔 구성
@@ -20,18 +25,69 @@ public class MemberRepository {
 
     private final EntityManager em;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
     @Transactional(propagation = Propagation.REQUIRED)
     public void save(Member member) {
         log.info("member 저장");
         em.persist(member);
     }
 
+    /**
+     * JDBC batch 크기 단위로 flush/clear
+     * -> insert는 hibernate.jdbc.batch_size 만큼 묶여서 전송되고, 영속성 컨텍스트는 batch 크기 이상으로 커지지 않음
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void saveAll(List<Member> members) {
+        log.info("member 일괄 저장 size={}", members.size());
+        for (int i = 0; i < members.size(); i++) {
+            em.persist(members.get(i));
+            if ((i + 1) % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+    }
+
     // *** PK를 통한 조회가 아니므로 jpql 사용
+    // *** readOnly - flush 생략 + 스냅샷을 만들지 않음, routing 사용 시 replica로 조회
+    @Transactional(readOnly = true)
     public Optional<Member> find(String username) {
         return em.createQuery("select m from Member m where m.username = :username", Member.class)
                 .setParameter("username", username)
+                .setHint(HibernateHints.HINT_CACHEABLE, true) //쿼리 캐시 (cache 프로필에서만 동작)
+                .setMaxResults(1) //결과 전체를 가져오지 않고 DB에서 1건으로 제한
                 .getResultList().stream().findAny();
         //findAny() - 가장 먼저 찾은 결과 하나만 반환
         //getSingleResult()로 받을 시 - 결과거 없을 경우 Exception을 반환해버리므로 getResultList()로 받음
     }
+
+    // 존재 여부만 필요한 경우 - 엔티티를 만들지 않고 id만 조회
+    @Transactional(readOnly = true)
+    public boolean exists(String username) {
+        return !em.createQuery("select m.id from Member m where m.username = :username", Long.class)
+                .setParameter("username", username)
+                .setMaxResults(1)
+                .getResultList().isEmpty();
+    }
+
+    /**
+     * 전체 member를 커서로 하나씩 조회 (getResultList()처럼 전체를 메모리에 올리지 않음)
+     * * MANDATORY - Stream은 트랜잭션(con)이 열려있는 동안에만 읽을 수 있음
+     *   -> 호출하는 쪽의 readOnly 트랜잭션 안에서 소비하고 닫아야 함 (try-with-resources)
+     * * fetch size 만큼씩 DB에서 가져오고, 읽은 엔티티는 바로 detach -> 영속성 컨텍스트가 커지지 않음
+     */
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Member> streamAll() {
+        Stream<Member> members = em.createQuery("select m from Member m order by m.id", Member.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE) //export 결과로 2차 캐시를 채우지 않음
+                .getResultStream();
+        return members.peek(em::detach);
+    }
 }
@@ -2,8 +2,14 @@ package spring.transaction.propagation;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import spring.transaction.groupcommit.GroupCommit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Service에서 메서드 단위에 @Transaction을 적용하는 것이 아닌, Repository의 메서드 단위에 @Transactional이 적용된 상황
@@ -17,6 +23,10 @@ public class MemberService {
 
     private final MemberRepository memberRepository;
     private final LogRepository logRepository;
+    private final AsyncLogWriter asyncLogWriter;
+
+    @Value("${member.join.chunk-size:1000}")
+    private int joinChunkSize;
 
     /**
      * 1. 각각의 repository의 내부 메서드에 @Transactionl 적용
@@ -60,4 +70,83 @@ public class MemberService {
         }
         log.info("=== logRepository 호출 종료 ===");
     }
+
+    /**
+     * joinV2와 같은 복구 구조 - logRepository를 NESTED(savepoint)로 호출
+     *  -> 로그 실패 시 savepoint까지만 롤백, member 저장은 유지
+     *  -> REQUIRES_NEW와 달리 외부 트랜잭션의 con 하나만 사용 + 외부 트랜잭션 보류/재개 없음
+     */
+    @Transactional
+    public void joinV3(String username) {
+        Member member = new Member(username);
+        Log logMessage = new Log(username); //편의상 log 메시지는 username으로
+
+        log.info("=== memberRepository 호출 시작 ===");
+        memberRepository.save(member);
+        log.info("=== memberRepository 호출 종료 ===");
+
+        log.info("=== logRepository 호출 시작 ===");
+        try {
+            logRepository.saveNested(logMessage);
+        } catch (RuntimeException e) {
+            log.info("log 저장에 실패했습니다. message={}", logMessage.getMessage());
+            log.info("정상 흐름 반환");
+        }
+        log.info("=== logRepository 호출 종료 ===");
+    }
+
+    /**
+     * joinV3와 같은 처리 - 동시에 들어온 가입 요청을 모아 하나의 트랜잭션으로 commit (group commit)
+     * * 요청 하나가 실패해도 그 요청의 savepoint까지만 롤백 -> 다른 요청은 그대로 commit
+     */
+    @GroupCommit
+    @Transactional
+    public void joinV4(String username) {
+        Member member = new Member(username);
+        Log logMessage = new Log(username);
+
+        memberRepository.save(member);
+        try {
+            logRepository.saveNested(logMessage);
+        } catch (RuntimeException e) {
+            log.info("log 저장에 실패했습니다. message={}", logMessage.getMessage());
+        }
+    }
+
+    /**
+     * 로그는 AsyncLogWriter의 큐에 적재만 하고 바로 반환
+     * -> 요청 스레드는 member 트랜잭션의 con 하나만 사용
+     * -> 로그 저장 실패는 백그라운드에서 처리되므로 member 트랜잭션에 영향을 주지 않음
+     */
+    @Transactional
+    public void joinV1Async(String username) {
+        Member member = new Member(username);
+        Log logMessage = new Log(username);
+
+        log.info("=== memberRepository 호출 시작 ===");
+        memberRepository.save(member);
+        log.info("=== memberRepository 호출 종료 ===");
+
+        log.info("=== asyncLogWriter 적재 ===");
+        asyncLogWriter.write(logMessage);
+    }
+
+    /**
+     * 대량 가입 - chunk 단위로 나누어 저장
+     * 1. chunk의 member를 하나의 트랜잭션으로 저장 (memberRepository.saveAll, JDBC batch insert)
+     * 2. chunk의 log를 별도 트랜잭션으로 저장 (logRepository.saveBatchOrEach, REQUIRES_NEW)
+     *    -> 실패 시 건별 저장으로 전환해서 실패한 로그만 버림 = joinV2와 동일하게 log 실패가 member에 영향을 주지 않음
+     * * 메서드 전체를 하나의 트랜잭션으로 묶지 않음
+     *   -> chunk 단위로 commit 되므로 중간에 실패해도 이전 chunk는 유지되고, 트랜잭션/영속성 컨텍스트 크기도 chunk 크기로 제한
+     */
+    public void joinAll(Collection<String> usernames) {
+        List<String> all = new ArrayList<>(usernames);
+        for (int from = 0; from < all.size(); from += joinChunkSize) {
+            List<String> chunk = all.subList(from, Math.min(from + joinChunkSize, all.size()));
+            log.info("=== joinAll chunk {} ~ {} ===", from, from + chunk.size());
+
+            memberRepository.saveAll(chunk.stream().map(Member::new).toList());
+            logRepository.saveBatchOrEach(chunk.stream().map(Log::new).toList());
+        }
+    }
 }
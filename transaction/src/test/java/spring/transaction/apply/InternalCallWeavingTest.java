@@ -0,0 +1,64 @@
+package spring.transaction.apply;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 컴파일 시점 위빙 모드 (./gradlew test -PtxWeaving) 에서만 실행
+ * * InternalCallV1Test와 같은 구조지만 프록시가 없으므로 내부호출에도 트랜잭션이 적용되는 것을 검증
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "tx.mode", matches = "aspectj")
+class InternalCallWeavingTest {
+
+    @Autowired CallService callService;
+
+    @Test
+    void externalCall() {
+        log.info("callService class = {}", callService.getClass());
+        // * 프록시가 아닌 원본 객체 -> 트랜잭션이 적용됐다면 테스트 소스셋까지 위빙된 것
+        assertThat(AopUtils.isAopProxy(callService)).isFalse();
+        assertThat(callService.external()).isTrue();
+    }
+
+    @Test
+    void directCall() {
+        assertThat(callService.internal()).isTrue();
+    }
+
+    @TestConfiguration
+    static class InternalCallWeavingTestConfig {
+
+        @Bean
+        CallService callService() {
+            return new CallService();
+        }
+    }
+
+    static class CallService {
+
+        //@Transactional 미적용 + 내부호출
+        public boolean external() {
+            log.info("call external");
+            return internal();
+        }
+
+        @Transactional
+        public boolean internal() {
+            boolean txActive = TransactionSynchronizationManager.isActualTransactionActive();
+            log.info("call internal tx active={}", txActive);
+            return txActive;
+        }
+    }
+}
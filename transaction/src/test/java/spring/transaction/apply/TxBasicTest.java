@@ -2,6 +2,7 @@ package spring.transaction.apply;
 
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -28,6 +29,7 @@ class TxBasicTest {
      * AOP proxy가 적용된 클래스인지 확인하는 방법
      */
     @Test
+    @DisabledIfSystemProperty(named = "tx.mode", matches = "aspectj") //위빙 모드에는 프록시가 없음
     void proxyCheck() {
         log.info("AOP class = {}", basicService.getClass());
         assertThat(AopUtils.isAopProxy(basicService)).isTrue();
@@ -0,0 +1,101 @@
+package spring.transaction.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.transaction.propagation.Member;
+import spring.transaction.propagation.MemberRepository;
+import spring.transaction.propagation.MemberService;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("cache")
+class SecondLevelCacheTest {
+
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    SecondLevelCacheMetrics cacheMetrics;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /**
+     * 같은 username을 반복 조회 -> 두 번째부터는 쿼리 캐시 + 엔티티 캐시에서 반환
+     */
+    @Test
+    void find_cacheHit() {
+        //given
+        String username = "find_cacheHit";
+        memberService.joinV1(username);
+        long queryHitBefore = cacheMetrics.queryCacheHitCount();
+        long entityHitBefore = cacheMetrics.hitCount(Member.class.getName());
+
+        //when
+        assertTrue(memberRepository.find(username).isPresent());
+        assertTrue(memberRepository.find(username).isPresent());
+
+        //then
+        assertThat(cacheMetrics.queryCacheHitCount()).isGreaterThan(queryHitBefore);
+        assertThat(cacheMetrics.hitCount(Member.class.getName())).isGreaterThan(entityHitBefore);
+        assertThat(cacheMetrics.evictionCount(Member.class.getName())).isZero();
+    }
+
+    /**
+     * outerTxOn_fail 과 같은 상황 - 트랜잭션 안에서 저장/조회 후 롤백
+     * -> 롤백된 member는 엔티티 캐시에도, 쿼리 캐시에도 남지 않아야 함
+     */
+    @Test
+    void rollback_notVisible() {
+        //given
+        String username = "rollback_notVisible";
+
+        //when
+        Long id = transactionTemplate.execute(status -> {
+            Member member = new Member(username);
+            memberRepository.save(member);
+            assertTrue(memberRepository.find(username).isPresent());
+            status.setRollbackOnly();
+            return member.getId();
+        });
+
+        //then
+        assertFalse(entityManagerFactory.getCache().contains(Member.class, id));
+        assertTrue(memberRepository.find(username).isEmpty());
+    }
+
+    /**
+     * hit/miss/put 수가 MeterRegistry에도 같은 값으로 노출
+     */
+    @Test
+    void meterRegistry() {
+        //given
+        String username = "meterRegistry";
+        memberService.joinV1(username);
+        memberRepository.find(username);
+        memberRepository.find(username);
+
+        //then
+        String region = Member.class.getName();
+        assertThat(meterRegistry.get("cache.second-level.hits").tag("region", region).functionCounter().count())
+                .isEqualTo(cacheMetrics.hitCount(region))
+                .isGreaterThan(0);
+        assertThat(meterRegistry.get("cache.second-level.puts").tag("region", region).functionCounter().count())
+                .isEqualTo(cacheMetrics.putCount(region));
+        assertThat(meterRegistry.get("cache.query.hits").functionCounter().count())
+                .isEqualTo(cacheMetrics.queryCacheHitCount());
+    }
+}
@@ -0,0 +1,89 @@
+package spring.transaction.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import spring.transaction.propagation.LogRepository;
+import spring.transaction.propagation.MemberRepository;
+import spring.transaction.propagation.MemberService;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("pool")
+class PoolProfileTest {
+
+    @Autowired DataSource dataSource;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired LogRepository logRepository;
+
+    /**
+     * pool 크기 = 코어 수와 REQUIRES_NEW 깊이로 계산한 값, con은 auto-commit=false 상태로 pool에 보관
+     */
+    @Test
+    void poolSettings() throws SQLException {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        int expected = PoolSizingEnvironmentPostProcessor.poolSize(Runtime.getRuntime().availableProcessors(), 1, 2);
+        log.info("pool={}, maximumPoolSize={}", hikari.getPoolName(), hikari.getMaximumPoolSize());
+
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(expected);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(expected);
+        assertThat(hikari.getLeakDetectionThreshold()).isEqualTo(2000);
+        assertFalse(hikari.isAutoCommit());
+    }
+
+    /**
+     * pool 레벨 auto-commit=false 에서도 REQUIRES_NEW 포함 트랜잭션이 정상 commit
+     */
+    @Test
+    void joinV2_commit() {
+        //when
+        memberService.joinV2("pool_joinV2");
+
+        //then
+        assertTrue(memberRepository.find("pool_joinV2").isPresent());
+        assertTrue(logRepository.find("pool_joinV2").isPresent());
+    }
+
+    /**
+     * con 획득 시간이 히스토그램 버킷과 함께 MeterRegistry에 기록됨
+     */
+    @Test
+    void acquireHistogram() {
+        //given
+        memberService.joinV1("pool_metrics");
+
+        //when
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").tag("pool", "primary").timer();
+
+        //then
+        log.info("acquire count={}, mean={}ms", acquire.count(), acquire.mean(TimeUnit.MILLISECONDS));
+        assertThat(acquire.count()).isGreaterThan(0);
+        assertThat(acquire.takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(meterRegistry.find("hikaricp.connections.timeout").counter()).isNotNull();
+    }
+
+    @Test
+    void poolSizeFormula() {
+        // * 8코어, spindle 1 -> 최상위 트랜잭션 17개
+        assertThat(PoolSizingEnvironmentPostProcessor.poolSize(8, 1, 1)).isEqualTo(17);
+        // * 스레드마다 con 2개 -> 17 * 1 + 1
+        assertThat(PoolSizingEnvironmentPostProcessor.poolSize(8, 1, 2)).isEqualTo(18);
+        assertThat(PoolSizingEnvironmentPostProcessor.poolSize(8, 1, 3)).isEqualTo(35);
+        assertThatThrownBy(() -> PoolSizingEnvironmentPostProcessor.poolSize(0, 1, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
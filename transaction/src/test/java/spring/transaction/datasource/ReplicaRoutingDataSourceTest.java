@@ -0,0 +1,136 @@
+package spring.transaction.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 로컬 H2 2개를 primary / replica 대역으로 사용
+ * -> 각 DB의 marker 테이블에 자신의 이름을 넣어두고, 트랜잭션 안에서 조회한 이름으로 routing 결과 확인
+ */
+@Slf4j
+class ReplicaRoutingDataSourceTest {
+
+    static DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1");
+    static DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1");
+
+    @BeforeAll
+    static void createMarker() {
+        for (Map.Entry<String, DataSource> entry : Map.of("primary", primary, "replica", replica).entrySet()) {
+            JdbcTemplate template = new JdbcTemplate(entry.getValue());
+            template.execute("create table if not exists marker (name varchar(20))");
+            template.update("delete from marker");
+            template.update("insert into marker values (?)", entry.getKey());
+        }
+    }
+
+    @Test
+    void readOnly_replica() {
+        Fixture fixture = new Fixture(Duration.ZERO);
+
+        assertThat(fixture.read()).isEqualTo("replica");
+        assertThat(fixture.write()).isEqualTo("primary");
+    }
+
+    /**
+     * 쓰기 직후의 읽기 -> sticky window 동안 primary
+     */
+    @Test
+    void readAfterWrite_stickyPrimary() {
+        Fixture fixture = new Fixture(Duration.ofMinutes(1));
+
+        assertThat(fixture.read()).isEqualTo("replica");
+        fixture.write();
+        assertThat(fixture.read()).isEqualTo("primary");
+    }
+
+    /**
+     * sticky window는 commit 시점부터 -> 롤백된 쓰기 이후의 읽기는 replica
+     */
+    @Test
+    void rolledBackWrite_notSticky() {
+        Fixture fixture = new Fixture(Duration.ofMinutes(1));
+
+        fixture.writeTemplate.executeWithoutResult(status -> {
+            fixture.marker();
+            status.setRollbackOnly();
+        });
+        assertThat(fixture.read()).isEqualTo("replica");
+    }
+
+    /**
+     * replica 지연이 허용치를 넘으면 primary로 대체
+     */
+    @Test
+    void replicaLag_fallbackPrimary() {
+        Fixture fixture = new Fixture(Duration.ZERO);
+
+        fixture.routing.reportLag("replica0", Duration.ofSeconds(5));
+        assertThat(fixture.read()).isEqualTo("primary");
+
+        fixture.routing.reportLag("replica0", Duration.ZERO);
+        assertThat(fixture.read()).isEqualTo("replica");
+    }
+
+    /**
+     * routing 구성의 pool(primary, replica)도 spring.datasource.hikari.* 설정을 그대로 사용
+     */
+    @Test
+    void routedPool_bindsHikariProperties() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7")
+                .withProperty("spring.datasource.hikari.connection-timeout", "3000")
+                .withProperty("spring.datasource.hikari.auto-commit", "false");
+
+        try (HikariDataSource pool = RoutingDataSourceConfig.bindHikari(Binder.get(environment), new HikariDataSource())) {
+            assertThat(pool.getMaximumPoolSize()).isEqualTo(7);
+            assertThat(pool.getConnectionTimeout()).isEqualTo(3000);
+            assertThat(pool.isAutoCommit()).isFalse();
+        }
+    }
+
+    static class Fixture {
+
+        final ReplicaRoutingDataSource routing;
+        final JdbcTemplate jdbcTemplate;
+        final TransactionTemplate writeTemplate;
+        final TransactionTemplate readTemplate;
+
+        Fixture(Duration stickyWindow) {
+            routing = new ReplicaRoutingDataSource(primary, Map.of("replica0", replica),
+                    Duration.ofSeconds(1), stickyWindow);
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            DataSourceTransactionManager txManager = new DataSourceTransactionManager(dataSource);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            writeTemplate = new TransactionTemplate(txManager);
+            readTemplate = new TransactionTemplate(txManager);
+            readTemplate.setReadOnly(true);
+        }
+
+        String read() {
+            return readTemplate.execute(status -> marker());
+        }
+
+        String write() {
+            return writeTemplate.execute(status -> marker());
+        }
+
+        private String marker() {
+            return jdbcTemplate.queryForObject("select name from marker", String.class);
+        }
+    }
+}
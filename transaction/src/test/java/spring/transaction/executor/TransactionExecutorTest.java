@@ -0,0 +1,78 @@
+package spring.transaction.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import spring.transaction.propagation.MemberRepository;
+import spring.transaction.propagation.MemberService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * max-in-flight 3 -> 동시 요청이 많아도 동시에 실행되는 트랜잭션은 3개까지
+ */
+@Slf4j
+@SpringBootTest(properties = {"tx.executor.mode=VIRTUAL", "tx.executor.max-in-flight=3"})
+class TransactionExecutorTest {
+
+    @Autowired TransactionExecutor transactionExecutor;
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    void boundedInFlight() {
+        //given
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            String username = "executor_" + i;
+            futures.add(transactionExecutor.run(() -> memberService.joinV1(username)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        //then
+        log.info("mode={}, maxRunning={}", transactionExecutor.getMode(), transactionExecutor.getMaxRunning());
+        assertThat(transactionExecutor.getMaxRunning()).isLessThanOrEqualTo(3);
+        assertThat(memberRepository.find("executor_0")).isPresent();
+        assertThat(memberRepository.find("executor_99")).isPresent();
+    }
+
+    /**
+     * max-in-flight 미설정 -> pool 크기 / REQUIRES_NEW 깊이 (pool 10, depth 2 -> 5)
+     */
+    @Test
+    void defaultMaxInFlight() {
+        assertThat(TransactionExecutorConfig.defaultMaxInFlight(10, 2)).isEqualTo(5);
+        assertThat(TransactionExecutorConfig.defaultMaxInFlight(10, 1)).isEqualTo(10);
+        assertThat(TransactionExecutorConfig.defaultMaxInFlight(1, 3)).isEqualTo(1);
+    }
+
+    /**
+     * 가상 스레드를 지원하지 않는 JVM(Java 17)에서는 PLATFORM으로 동작
+     */
+    @Test
+    void virtualMode_fallback() {
+        boolean virtualSupported = Runtime.version().feature() >= 21;
+        ExecutorMode expected = virtualSupported ? ExecutorMode.VIRTUAL : ExecutorMode.PLATFORM;
+        assertThat(transactionExecutor.getMode()).isEqualTo(expected);
+    }
+
+    /**
+     * 작업 예외는 future로 전달되고 permit은 반납됨
+     */
+    @Test
+    void exception() {
+        CompletableFuture<Void> future = transactionExecutor.run(() -> memberService.joinV1("로그예외_executor"));
+        assertThatThrownBy(future::join).hasCauseInstanceOf(RuntimeException.class);
+
+        CompletableFuture<Void> next = transactionExecutor.run(() -> memberService.joinV1("executor_next"));
+        next.join();
+        assertThat(memberRepository.find("executor_next")).isPresent();
+    }
+}
@@ -0,0 +1,69 @@
+package spring.transaction.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.IllegalTransactionStateException;
+import spring.transaction.propagation.Log;
+import spring.transaction.propagation.LogRepository;
+import spring.transaction.propagation.MemberRepository;
+import spring.transaction.propagation.MemberService;
+
+import java.io.StringWriter;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest
+class ExportServiceTest {
+
+    @Autowired ExportService exportService;
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired LogRepository logRepository;
+
+    @Test
+    void exportMembersCsv() {
+        //given
+        memberService.joinV1("export,member");
+
+        //when
+        StringWriter writer = new StringWriter();
+        long count = exportService.exportMembersCsv(writer);
+
+        //then
+        String csv = writer.toString();
+        assertThat(count).isPositive();
+        assertThat(csv).startsWith("id,username\n");
+        assertThat(csv).contains(",\"export,member\"\n");
+        assertThat(csv.lines().count()).isEqualTo(count + 1);
+    }
+
+    @Test
+    void exportLogsNdjson() {
+        //given
+        logRepository.saveAll(IntStream.range(0, 100).mapToObj(i -> new Log("export_" + i)));
+        logRepository.saveAll(IntStream.range(0, 10).mapToObj(i -> new Log("exportX" + i)));
+
+        //when
+        StringWriter writer = new StringWriter();
+        long count = exportService.exportLogsNdjson("export_", writer);
+
+        //then
+        // * '_'는 like 와일드카드가 아닌 문자로 비교 -> exportX는 제외
+        assertThat(count).isEqualTo(100);
+        assertThat(writer.toString().lines()).allMatch(line -> line.startsWith("{\"id\":"));
+        assertThat(writer.toString()).contains("\"message\":\"export_99\"");
+    }
+
+    /**
+     * 트랜잭션 밖에서 Stream 조회 -> MANDATORY 이므로 예외
+     */
+    @Test
+    void stream_withoutTransaction() {
+        assertThatThrownBy(() -> memberRepository.streamAll())
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+}
@@ -0,0 +1,203 @@
+package spring.transaction.groupcommit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.UnexpectedRollbackException;
+import spring.transaction.order.Order;
+import spring.transaction.order.OrderRepository;
+import spring.transaction.order.OrderResult;
+import spring.transaction.order.OrderService;
+import spring.transaction.propagation.LogRepository;
+import spring.transaction.propagation.MemberRepository;
+import spring.transaction.propagation.MemberService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 대기 시간을 넉넉히(5ms) 줘서 동시에 들어온 요청이 같은 그룹으로 묶이도록 설정
+ */
+@Slf4j
+@SpringBootTest(properties = {"tx.group-commit.window-micros=5000", "tx.group-commit.max-batch=16"})
+class GroupCommitTest {
+
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired LogRepository logRepository;
+    @Autowired OrderService orderService;
+    @Autowired OrderRepository orderRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentJoin() throws Exception {
+        //given
+        int count = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(count);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < count; i++) {
+            String username = "group_" + i;
+            futures.add(CompletableFuture.runAsync(() -> {
+                await(start);
+                memberService.joinV4(username);
+            }, executor));
+        }
+        start.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        //then
+        for (int i = 0; i < count; i++) {
+            assertTrue(memberRepository.find("group_" + i).isPresent());
+            assertTrue(logRepository.find("group_" + i).isPresent());
+        }
+        // * 요청 32개가 32번보다 적은 commit으로 처리됨
+        DistributionSummary groupSize = meterRegistry.get("tx.group-commit.size").summary();
+        log.info("groups={}, max={}", groupSize.count(), groupSize.max());
+        assertThat(groupSize.max()).isGreaterThan(1);
+    }
+
+    /**
+     * 그룹 안의 요청 하나가 실패해도 그 요청만 롤백되고 나머지는 commit
+     */
+    @Test
+    void failingUnit() throws Exception {
+        //given
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CountDownLatch start = new CountDownLatch(1);
+        Order ok1 = order("group_ok1");
+        Order failed = order("예외");
+        Order ok2 = order("group_ok2");
+
+        //when
+        CompletableFuture<OrderResult> future1 = submit(executor, start, ok1);
+        CompletableFuture<OrderResult> futureFailed = submit(executor, start, failed);
+        CompletableFuture<OrderResult> future2 = submit(executor, start, ok2);
+        start.countDown();
+
+        //then
+        // * 실패한 요청의 호출 스레드에만 원래 예외가 전달됨
+        assertThatThrownBy(futureFailed::join)
+                .hasCauseInstanceOf(RuntimeException.class)
+                .hasRootCauseMessage("시스템 예외");
+        assertThat(future1.join().isPendingPayment()).isFalse();
+        assertThat(future2.join().isPendingPayment()).isFalse();
+        executor.shutdown();
+
+        assertThat(orderRepository.findById(future1.join().orderId()).get().getPayStatus()).isEqualTo("완료");
+        assertThat(orderRepository.findById(future2.join().orderId()).get().getPayStatus()).isEqualTo("완료");
+        assertThat(failed.getId() == null || orderRepository.findById(failed.getId()).isEmpty()).isTrue();
+    }
+
+    /**
+     * savepoint로 롤백된 주문이 등록한 afterCommit(멱등키 캐시 저장)은 실행되지 않음
+     * -> 같은 멱등키의 다음 요청이 존재하지 않는 주문으로 재응답(replay)되지 않음
+     */
+    @Test
+    void failingUnit_idempotencyKeyNotCached() {
+        //given
+        Order failed = order("예외");
+        failed.setIdempotencyKey("group-failed-key");
+        assertThatThrownBy(() -> orderService.orderGrouped(failed))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("시스템 예외");
+
+        //when
+        Order retry = order("group_retry");
+        retry.setIdempotencyKey("group-failed-key");
+        OrderResult result = orderService.orderGrouped(retry);
+
+        //then
+        // * 캐시에 롤백된 주문이 남아 있었다면 새 주문 없이 그 id를 반환
+        assertTrue(orderRepository.findById(result.orderId()).isPresent());
+        assertThat(orderRepository.findByIdempotencyKey("group-failed-key").get().getUnsername()).isEqualTo("group_retry");
+    }
+
+    /**
+     * 로그 저장 실패(NESTED)는 savepoint 롤백으로 복구 -> member는 그룹 트랜잭션과 함께 commit
+     */
+    @Test
+    void recoverException_nested() {
+        //when
+        memberService.joinV4("로그예외_group");
+
+        //then
+        assertTrue(memberRepository.find("로그예외_group").isPresent());
+        assertTrue(logRepository.find("로그예외_group").isEmpty());
+    }
+
+    /**
+     * 중복 username -> 그 요청의 flush(savepoint 안)에서 실패, 그룹 트랜잭션은 rollback-only
+     * * 중복 요청은 실패, 같은 그룹에서 먼저 실행된 요청은 UnexpectedRollbackException (다시 실행하지 않음)
+     * * 아직 실행하지 않은 요청은 새 그룹으로 실행되어 commit
+     */
+    @Test
+    void rollbackOnly_notRetried() {
+        //given
+        memberService.joinV1("group_dup");
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CountDownLatch start = new CountDownLatch(1);
+        List<String> usernames = List.of("group_dup_ok1", "group_dup", "group_dup_ok2");
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        //when
+        for (String username : usernames) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                await(start);
+                memberService.joinV4(username);
+            }, executor));
+        }
+        start.countDown();
+        executor.shutdown();
+
+        //then
+        assertThatThrownBy(futures.get(1)::join).isInstanceOf(CompletionException.class);
+        assertTrue(memberRepository.exists("group_dup"));
+        for (int i : new int[]{0, 2}) {
+            Throwable error = futures.get(i).handle((result, e) -> e).join();
+            boolean committed = memberRepository.exists(usernames.get(i));
+            if (error == null) {
+                assertTrue(committed);
+            } else {
+                // * 중복 요청보다 먼저 실행된 요청 - 그룹과 함께 롤백
+                assertThat(error).hasCauseInstanceOf(UnexpectedRollbackException.class);
+                assertThat(committed).isFalse();
+            }
+        }
+    }
+
+    private CompletableFuture<OrderResult> submit(ExecutorService executor, CountDownLatch start, Order order) {
+        return CompletableFuture.supplyAsync(() -> {
+            await(start);
+            return orderService.orderGrouped(order);
+        }, executor);
+    }
+
+    private Order order(String username) {
+        Order order = new Order();
+        order.setUnsername(username);
+        return order;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
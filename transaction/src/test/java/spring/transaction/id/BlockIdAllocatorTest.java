@@ -0,0 +1,69 @@
+package spring.transaction.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Slf4j
+class BlockIdAllocatorTest {
+
+    @Test
+    void singleThread() {
+        //시퀀스 INCREMENT BY 50 를 흉내 - 1, 51, 101 ...
+        AtomicLong sequence = new AtomicLong(1);
+        BlockIdAllocator allocator = new BlockIdAllocator(50);
+
+        for (long expected = 1; expected <= 120; expected++) {
+            assertThat(allocator.next(() -> sequence.getAndAdd(50))).isEqualTo(expected);
+        }
+        //120개 할당에 시퀀스 조회는 3번
+        assertThat(sequence.get()).isEqualTo(151);
+    }
+
+    /**
+     * 여러 스레드가 동시에 할당해도 중복 id가 없어야 함
+     */
+    @Test
+    void concurrent() throws InterruptedException {
+        int threads = 8;
+        int perThread = 10_000;
+        AtomicLong sequence = new AtomicLong(1);
+        AtomicLong fetchCount = new AtomicLong();
+        BlockIdAllocator allocator = new BlockIdAllocator(50);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < perThread; j++) {
+                    ids.add(allocator.next(() -> {
+                        fetchCount.incrementAndGet();
+                        return sequence.getAndAdd(50);
+                    }));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        log.info("fetchCount={}", fetchCount.get());
+        assertThat(ids).hasSize(threads * perThread);
+    }
+}
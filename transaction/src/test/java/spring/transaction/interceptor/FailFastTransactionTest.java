@@ -0,0 +1,139 @@
+package spring.transaction.interceptor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.annotation.Transactional;
+import spring.transaction.propagation.Log;
+import spring.transaction.propagation.LogRepository;
+import spring.transaction.propagation.Member;
+import spring.transaction.propagation.MemberRepository;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * outerTx @Transactional:ON
+ * innerTx @Transactional:ON(REQUIRED) + RuntimeException (outer에서 try-catch O) -> 물리 트랜잭션 rollback-only
+ * -> 이후 memberRepository 호출은 실행하지 않고 바로 예외 + commit 시 원인 포함
+ */
+@Slf4j
+@SpringBootTest(properties = "tx.fail-fast.enabled=true")
+class FailFastTransactionTest {
+
+    @Autowired OuterService outerService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired LogRepository logRepository;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        InnerService innerService() {
+            return new InnerService();
+        }
+
+        @Bean
+        OuterService outerService(InnerService innerService, MemberRepository memberRepository,
+                                  LogRepository logRepository) {
+            return new OuterService(innerService, memberRepository, logRepository);
+        }
+    }
+
+    @Test
+    void failFast_afterRollbackOnly() {
+        //given
+        String username = "failFast_afterRollbackOnly";
+
+        //when
+        // * memberRepository.save()는 실행되지 않고 RollbackOnlyFailFastException -> outerTx 롤백
+        assertThatThrownBy(() -> outerService.recoverThenSave(username))
+                .isInstanceOf(RollbackOnlyFailFastException.class)
+                .isInstanceOf(UnexpectedRollbackException.class)
+                .hasMessageContaining("InnerService.fail");
+
+        //then
+        assertTrue(memberRepository.find(username).isEmpty());
+    }
+
+    /**
+     * fail-fast 예외도 잡고 정상 흐름으로 반환 -> commit 시점의 UnexpectedRollbackException에 원인 포함
+     */
+    @Test
+    void unexpectedRollback_withOrigin() {
+        assertThatThrownBy(() -> outerService.recoverAll("unexpectedRollback_withOrigin"))
+                .isInstanceOf(UnexpectedRollbackException.class)
+                .hasMessageContaining("rollback-only origin")
+                .hasMessageContaining("IllegalStateException: inner 예외");
+    }
+
+    /**
+     * REQUIRES_NEW는 별도의 물리 트랜잭션 -> rollback-only 이후에도 그대로 실행
+     */
+    @Test
+    void requiresNew_notSkipped() {
+        //given
+        String message = "failFast_requiresNew";
+
+        //when
+        assertThatThrownBy(() -> outerService.recoverThenRequiresNew(message))
+                .isInstanceOf(UnexpectedRollbackException.class);
+
+        //then
+        assertTrue(logRepository.find(message).isPresent());
+    }
+
+    static class InnerService {
+
+        @Transactional
+        public void fail() {
+            throw new IllegalStateException("inner 예외");
+        }
+    }
+
+    static class OuterService {
+
+        private final InnerService innerService;
+        private final MemberRepository memberRepository;
+        private final LogRepository logRepository;
+
+        OuterService(InnerService innerService, MemberRepository memberRepository, LogRepository logRepository) {
+            this.innerService = innerService;
+            this.memberRepository = memberRepository;
+            this.logRepository = logRepository;
+        }
+
+        @Transactional
+        public void recoverThenSave(String username) {
+            recover();
+            memberRepository.save(new Member(username));
+        }
+
+        @Transactional
+        public void recoverAll(String username) {
+            recover();
+            try {
+                memberRepository.save(new Member(username));
+            } catch (RollbackOnlyFailFastException e) {
+                log.info("fail-fast origin={}", e.getOrigin());
+            }
+        }
+
+        @Transactional
+        public void recoverThenRequiresNew(String message) {
+            recover();
+            logRepository.save(new Log(message));
+        }
+
+        private void recover() {
+            try {
+                innerService.fail();
+            } catch (IllegalStateException e) {
+                log.info("inner 예외 복구 시도");
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package spring.transaction.interceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * RollbackTest와 같은 규칙이 캐시를 거쳐도 그대로 적용되는지 + 어떤 규칙이 사용됐는지 메트릭으로 확인
+ */
+@Slf4j
+@SpringBootTest
+class RollbackRuleCacheTest {
+
+    @Autowired RuleService ruleService;
+    @Autowired TransactionInterceptor transactionInterceptor;
+    @Autowired MeterRegistry registry;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RuleService ruleService() {
+            return new RuleService();
+        }
+    }
+
+    @Test
+    void runtimeException_rollback() throws NoSuchMethodException {
+        //when
+        assertThatThrownBy(() -> ruleService.runtimeException()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ruleService.runtimeException()).isInstanceOf(IllegalStateException.class);
+
+        //then
+        // * 두 번째 예외는 캐시된 판단 결과를 사용 - 카운터는 같은 규칙으로 2회
+        RollbackDecision decision = decision("runtimeException", IllegalStateException.class);
+        assertThat(decision.rollback()).isTrue();
+        assertThat(decision.rule()).isEqualTo(CachedRollbackRuleAttribute.RULE_DEFAULT_UNCHECKED);
+        assertThat(decision.counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void checkedException_commit() throws NoSuchMethodException {
+        //when
+        assertThatThrownBy(() -> ruleService.checkedException()).isInstanceOf(MyException.class);
+
+        //then
+        RollbackDecision decision = decision("checkedException", MyException.class);
+        assertThat(decision.rollback()).isFalse();
+        assertThat(decision.rule()).isEqualTo(CachedRollbackRuleAttribute.RULE_DEFAULT_CHECKED);
+    }
+
+    @Test
+    void rollbackFor() throws NoSuchMethodException {
+        //when
+        assertThatThrownBy(() -> ruleService.rollbackFor()).isInstanceOf(MyException.class);
+
+        //then
+        RollbackDecision decision = decision("rollbackFor", MyException.class);
+        assertThat(decision.rollback()).isTrue();
+        assertThat(decision.rule()).isEqualTo("rollbackFor:" + MyException.class.getName());
+        assertThat(registry.get("tx.rollback.rule")
+                .tag("exception", "MyException")
+                .tag("outcome", "rollback")
+                .counter().count()).isEqualTo(1);
+    }
+
+    /**
+     * 하위 예외 클래스에 대해서도 Spring과 같은 규칙 (상위 타입 rollbackFor 적용)
+     */
+    @Test
+    void rollbackFor_subclass() throws NoSuchMethodException {
+        //when
+        assertThatThrownBy(() -> ruleService.rollbackForSubclass()).isInstanceOf(MySubException.class);
+
+        //then
+        RollbackDecision decision = decision("rollbackForSubclass", MySubException.class);
+        assertThat(decision.rollback()).isTrue();
+        assertThat(decision.rule()).isEqualTo("rollbackFor:" + MyException.class.getName());
+    }
+
+    private RollbackDecision decision(String methodName, Class<? extends Throwable> exceptionType)
+            throws NoSuchMethodException {
+        TransactionAttribute attribute = transactionInterceptor.getTransactionAttributeSource()
+                .getTransactionAttribute(RuleService.class.getMethod(methodName), RuleService.class);
+        assertThat(attribute).isInstanceOf(CachedRollbackRuleAttribute.class);
+        return ((CachedRollbackRuleAttribute) attribute).cachedDecision(exceptionType);
+    }
+
+    static class RuleService {
+
+        @Transactional
+        public void runtimeException() {
+            throw new IllegalStateException();
+        }
+
+        @Transactional
+        public void checkedException() throws MyException {
+            throw new MyException();
+        }
+
+        @Transactional(rollbackFor = MyException.class)
+        public void rollbackFor() throws MyException {
+            throw new MyException();
+        }
+
+        @Transactional(rollbackFor = MyException.class)
+        public void rollbackForSubclass() throws MyException {
+            throw new MySubException();
+        }
+    }
+
+    static class MyException extends Exception {
+    }
+
+    static class MySubException extends MyException {
+    }
+}
@@ -0,0 +1,96 @@
+package spring.transaction.manager;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * pool 크기 2, nested용 예약 1
+ * -> 최상위 트랜잭션은 동시에 1개까지만, 한 스레드가 REQUIRES_NEW로 con 2개까지 점유 가능
+ */
+@Slf4j
+@SpringBootTest
+class ConnectionBudgetTransactionManagerTest {
+
+    @Autowired
+    ConnectionBudgetTransactionManager txManager;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        public ConnectionBudgetTransactionManager transactionManager(DataSource dataSource) {
+            return new ConnectionBudgetTransactionManager(new DataSourceTransactionManager(dataSource),
+                    2, 1, Duration.ofMillis(50));
+        }
+    }
+
+    @Test
+    void inner_requiresNew() {
+        log.info("외부 트랜잭션 시작");
+        TransactionStatus outer = txManager.getTransaction(new DefaultTransactionDefinition());
+        assertThat(txManager.getHeldConnections()).isEqualTo(1);
+
+        log.info("내부 트랜잭션 시작 - REQUIRES_NEW");
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        TransactionStatus inner = txManager.getTransaction(definition);
+        assertThat(txManager.getHeldConnections()).isEqualTo(2);
+        assertThat(txManager.getHeldConnectionsPerThread()).containsValue(2);
+
+        txManager.commit(inner);
+        assertThat(txManager.getHeldConnections()).isEqualTo(1);
+
+        txManager.commit(outer);
+        assertThat(txManager.getHeldConnections()).isZero();
+        assertThat(txManager.getAvailableConnections()).isEqualTo(2);
+    }
+
+    /**
+     * 내부 트랜잭션은 REQUIRED -> 기존 con에 참여하므로 permit을 소모하지 않음
+     */
+    @Test
+    void inner_required() {
+        TransactionStatus outer = txManager.getTransaction(new DefaultTransactionDefinition());
+        TransactionStatus inner = txManager.getTransaction(new DefaultTransactionDefinition());
+        assertThat(txManager.getHeldConnections()).isEqualTo(1);
+
+        txManager.commit(inner);
+        txManager.commit(outer);
+        assertThat(txManager.getAvailableConnections()).isEqualTo(2);
+    }
+
+    /**
+     * con 2개를 모두 점유한 상태에서 REQUIRES_NEW 한번 더
+     * -> 대기하지 않고 ConnectionBudgetExceededException
+     */
+    @Test
+    void inner_requiresNew_exceeded() {
+        DefaultTransactionDefinition requiresNew = new DefaultTransactionDefinition();
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        TransactionStatus outer = txManager.getTransaction(new DefaultTransactionDefinition());
+        TransactionStatus inner = txManager.getTransaction(requiresNew);
+
+        assertThatThrownBy(() -> txManager.getTransaction(requiresNew))
+                .isInstanceOf(ConnectionBudgetExceededException.class);
+        assertThat(txManager.getFailFastCount()).isEqualTo(1);
+
+        txManager.rollback(inner);
+        txManager.rollback(outer);
+        assertThat(txManager.getAvailableConnections()).isEqualTo(2);
+        assertThat(txManager.getMaxHeldPerThread()).isEqualTo(2);
+    }
+}
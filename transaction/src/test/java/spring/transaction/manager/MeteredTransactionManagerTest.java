@@ -0,0 +1,100 @@
+package spring.transaction.manager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.ResourceTransactionManager;
+import spring.transaction.order.NotEnoughMoneyException;
+import spring.transaction.order.Order;
+import spring.transaction.order.OrderService;
+import spring.transaction.propagation.MemberService;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest
+class MeteredTransactionManagerTest {
+
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired OrderService orderService;
+    @Autowired MemberService memberService;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void wrapped() {
+        assertThat(txManager).isInstanceOf(MeteredTransactionManager.class);
+        // * JpaTransactionManager의 ResourceTransactionManager는 그대로 노출
+        assertThat(txManager).isInstanceOf(ResourceTransactionManager.class);
+        assertThat(((ResourceTransactionManager) txManager).getResourceFactory()).isSameAs(entityManagerFactory);
+    }
+
+    /**
+     * memberRepository.save(REQUIRED)는 joinV1의 트랜잭션에 참여 -> 새 트랜잭션이 아니므로 기록하지 않음
+     * logRepository.save(REQUIRES_NEW)는 새 트랜잭션 -> 기록
+     */
+    @Test
+    void participating_notRecorded() {
+        long memberBefore = count("MemberRepository.save", "commit");
+        long logBefore = count("LogRepository.save", "commit");
+
+        memberService.joinV1("participating_notRecorded");
+
+        assertThat(count("MemberRepository.save", "commit")).isEqualTo(memberBefore);
+        assertThat(count("LogRepository.save", "commit")).isEqualTo(logBefore + 1);
+    }
+
+    @Test
+    void order_outcome() throws NotEnoughMoneyException {
+        long commitBefore = count("OrderService.order", "commit");
+        long rollbackBefore = count("OrderService.order", "rollback");
+
+        //정상 -> commit
+        orderService.order(order("정상"));
+        //비즈니스 예외(CheckedException) -> commit
+        assertThatThrownBy(() -> orderService.order(order("잔고부족")))
+                .isInstanceOf(NotEnoughMoneyException.class);
+        //시스템 예외 -> rollback
+        assertThatThrownBy(() -> orderService.order(order("예외")))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(count("OrderService.order", "commit")).isEqualTo(commitBefore + 2);
+        assertThat(count("OrderService.order", "rollback")).isEqualTo(rollbackBefore + 1);
+    }
+
+    /**
+     * joinV1 -> logRepository.save(REQUIRES_NEW)는 memberService의 트랜잭션을 보류
+     */
+    @Test
+    void requiresNew_suspension() {
+        memberService.joinV1("requiresNew_suspension");
+
+        assertThat(meterRegistry.get("tx.suspensions").tag("name", "LogRepository.save").counter().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("tx.begin").tag("name", "MemberService.joinV1").timer().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void shortName() {
+        assertThat(MeteredTransactionManager.shortName("spring.transaction.order.OrderService.order"))
+                .isEqualTo("OrderService.order");
+        assertThat(MeteredTransactionManager.shortName("order")).isEqualTo("order");
+    }
+
+    private long count(String name, String outcome) {
+        Timer timer = meterRegistry.find("tx.duration").tag("name", name).tag("outcome", outcome).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private Order order(String username) {
+        Order order = new Order();
+        order.setUnsername(username);
+        return order;
+    }
+}
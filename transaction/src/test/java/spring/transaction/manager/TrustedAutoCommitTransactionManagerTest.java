@@ -0,0 +1,168 @@
+package spring.transaction.manager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * pool 프로필 - Hikari auto-commit=false
+ * * 실제 pool con에 전달되는 호출 수를 CountingDataSource로 기록
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("pool")
+class TrustedAutoCommitTransactionManagerTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    /**
+     * BasicTxText.double_commit과 같은 시나리오
+     * * DataSourceTransactionManager : 트랜잭션마다 getAutoCommit() 확인
+     * * TrustedAutoCommitTransactionManager : auto-commit 관련 호출 없음, SQL이 없으면 con도 꺼내지 않음
+     */
+    @Test
+    void double_commit() throws SQLException {
+        //given
+        CountingDataSource defaultCounting = new CountingDataSource(pool());
+        CountingDataSource trustedCounting = new CountingDataSource(pool());
+        PlatformTransactionManager defaultTxManager = new DataSourceTransactionManager(defaultCounting);
+        PlatformTransactionManager trustedTxManager = new TrustedAutoCommitTransactionManager(trustedCounting);
+        trustedCounting.reset();
+
+        //when
+        doubleCommit(defaultTxManager);
+        doubleCommit(trustedTxManager);
+
+        //then
+        log.info("default={}, trusted={}", defaultCounting.calls, trustedCounting.calls);
+        assertThat(defaultCounting.count("getAutoCommit")).isEqualTo(2);
+        assertThat(trustedCounting.count("getAutoCommit")).isZero();
+        assertThat(trustedCounting.count("setAutoCommit")).isZero();
+        assertThat(trustedCounting.count("getConnection")).isZero();
+    }
+
+    /**
+     * SQL을 실행하면 그 시점에 con을 꺼냄 -> commit/rollback은 정상 반영, auto-commit 전환은 여전히 없음
+     */
+    @Test
+    void commit_rollback_withSql() throws SQLException {
+        //given
+        CountingDataSource counting = new CountingDataSource(pool());
+        TrustedAutoCommitTransactionManager txManager = new TrustedAutoCommitTransactionManager(counting);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(txManager.getDataSource());
+        //auto-commit=false pool -> 트랜잭션 밖에서 실행한 SQL은 con 반납 시 롤백되므로 트랜잭션 안에서 준비
+        new TransactionTemplate(txManager).executeWithoutResult(status -> {
+            jdbcTemplate.execute("create table if not exists trusted_tx (id int primary key)");
+            jdbcTemplate.update("delete from trusted_tx");
+        });
+        counting.reset();
+
+        //when
+        TransactionStatus tx1 = txManager.getTransaction(new DefaultTransactionDefinition());
+        jdbcTemplate.update("insert into trusted_tx values (1)");
+        txManager.commit(tx1);
+
+        TransactionStatus tx2 = txManager.getTransaction(new DefaultTransactionDefinition());
+        jdbcTemplate.update("insert into trusted_tx values (2)");
+        txManager.rollback(tx2);
+
+        //then
+        assertThat(jdbcTemplate.queryForList("select id from trusted_tx", Integer.class)).containsExactly(1);
+        assertThat(counting.count("setAutoCommit")).isZero();
+        assertThat(counting.count("commit")).isEqualTo(1);
+        assertThat(counting.count("rollback")).isEqualTo(1);
+    }
+
+    /**
+     * auto-commit=true 인 DataSource는 생성 시점에 실패 -> 트랜잭션 없이 SQL마다 commit 되는 상황 방지
+     */
+    @Test
+    void autoCommitPool_rejected() {
+        DriverManagerDataSource autoCommit = new DriverManagerDataSource("jdbc:h2:mem:trusted_autocommit", "sa", "");
+        assertThatThrownBy(() -> new TrustedAutoCommitTransactionManager(autoCommit))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * pool 프로필 - datasource.trusted-autocommit.enabled=true
+     * -> 트랜잭션 매니저가 아닌 DataSource 빈이 auto-commit 확인/전환을 생략하는 프록시 (JPA 경로도 같은 DataSource)
+     */
+    @Test
+    void dataSourceSetting() {
+        assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource()).isInstanceOf(HikariDataSource.class);
+    }
+
+    private HikariDataSource pool() throws SQLException {
+        return dataSource.unwrap(HikariDataSource.class);
+    }
+
+    private void doubleCommit(PlatformTransactionManager txManager) {
+        TransactionStatus tx1 = txManager.getTransaction(new DefaultTransactionDefinition());
+        txManager.commit(tx1);
+        TransactionStatus tx2 = txManager.getTransaction(new DefaultTransactionDefinition());
+        txManager.commit(tx2);
+    }
+
+    //getConnection()과 con 메서드 호출 수 기록
+    static class CountingDataSource extends DelegatingDataSource {
+
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            increment("getConnection");
+            Connection target = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        increment(method.getName());
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+
+        int count(String method) {
+            AtomicInteger count = calls.get(method);
+            return count != null ? count.get() : 0;
+        }
+
+        void reset() {
+            calls.clear();
+        }
+
+        private void increment(String method) {
+            calls.computeIfAbsent(method, key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package spring.transaction.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest
+class OrderIdempotencyTest {
+
+    @Autowired OrderFacade orderFacade;
+    @Autowired OrderRepository orderRepository;
+
+    /**
+     * 타임아웃 후 클라이언트가 같은 멱등키로 재요청
+     * -> 주문은 하나만 생성되고 두 번째 요청은 첫 요청의 결과를 그대로 받음
+     */
+    @Test
+    void replay() throws NotEnoughMoneyException {
+        //given
+        Order first = order("정상", "replay");
+        orderFacade.order(first);
+
+        //when
+        Order retry = order("정상", "replay");
+        orderFacade.order(retry);
+
+        //then
+        assertThat(retry.getId()).isEqualTo(first.getId());
+        assertThat(retry.getPayStatus()).isEqualTo("완료");
+        assertThat(countByKey("replay")).isEqualTo(1);
+    }
+
+    /**
+     * 잔고부족으로 대기 상태가 된 주문의 재요청 -> 같은 비즈니스 예외
+     */
+    @Test
+    void replay_bizException() {
+        //given
+        Order first = order("잔고부족", "replay_bizException");
+        assertThatThrownBy(() -> orderFacade.order(first))
+                .isInstanceOf(NotEnoughMoneyException.class);
+
+        //when
+        Order retry = order("잔고부족", "replay_bizException");
+        assertThatThrownBy(() -> orderFacade.order(retry))
+                .isInstanceOf(NotEnoughMoneyException.class);
+
+        //then
+        assertThat(retry.getId()).isEqualTo(first.getId());
+        assertThat(countByKey("replay_bizException")).isEqualTo(1);
+    }
+
+    /**
+     * 롤백된 주문의 멱등키는 캐시/DB 어디에도 남지 않음 -> 재요청 시 다시 처리
+     */
+    @Test
+    void rollback_notRecorded() {
+        //given
+        assertThatThrownBy(() -> orderFacade.order(order("예외", "rollback_notRecorded")))
+                .isInstanceOf(RuntimeException.class);
+
+        //then
+        assertThat(orderRepository.findByIdempotencyKey("rollback_notRecorded")).isEmpty();
+    }
+
+    /**
+     * 같은 멱등키로 동시에 요청
+     * -> 늦게 commit 하는 쪽은 unique 인덱스 위반 -> OrderFacade 재시도에서 먼저 commit 된 주문을 반환
+     */
+    @Test
+    void concurrentReplay() throws Exception {
+        //given
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            Callable<Long> task = () -> {
+                start.await();
+                Order order = order("정상", "concurrentReplay");
+                orderFacade.order(order);
+                return order.getId();
+            };
+            results.add(executor.submit(task));
+        }
+        start.countDown();
+
+        //then
+        Long orderId = results.get(0).get();
+        for (Future<Long> result : results) {
+            assertThat(result.get()).isEqualTo(orderId);
+        }
+        executor.shutdown();
+        assertThat(countByKey("concurrentReplay")).isEqualTo(1);
+    }
+
+    /**
+     * 멱등키 인덱스 위반만 재시도 대상 - 다른 제약조건 위반은 재시도하지 않음
+     */
+    @Test
+    void retryOnlyIdempotencyKeyConflict() {
+        SQLException keyViolation = new SQLException(
+                "Unique index or primary key violation: \"PUBLIC.UK_ORDERS_IDEMPOTENCY_KEY_INDEX_8 ON PUBLIC.ORDERS\"", "23505");
+        SQLException otherViolation = new SQLException("Value too long for column \"UNSERNAME\"", "22001");
+
+        assertThat(OrderFacade.isIdempotencyKeyConflict(new DataIntegrityViolationException("insert",
+                new ConstraintViolationException("insert", keyViolation, "PUBLIC.UK_ORDERS_IDEMPOTENCY_KEY_INDEX_8"))))
+                .isTrue();
+        assertThat(OrderFacade.isIdempotencyKeyConflict(new DataIntegrityViolationException("insert", keyViolation)))
+                .isTrue();
+        assertThat(OrderFacade.isIdempotencyKeyConflict(new DataIntegrityViolationException("insert", otherViolation)))
+                .isFalse();
+    }
+
+    private long countByKey(String idempotencyKey) {
+        return orderRepository.findAll().stream()
+                .filter(order -> idempotencyKey.equals(order.getIdempotencyKey()))
+                .count();
+    }
+
+    private Order order(String username, String idempotencyKey) {
+        Order order = new Order();
+        order.setUnsername(username);
+        order.setIdempotencyKey(idempotencyKey);
+        return order;
+    }
+}
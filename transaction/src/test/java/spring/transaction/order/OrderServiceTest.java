@@ -79,6 +79,36 @@ class OrderServiceTest {
         assertThat(findOrder.getPayStatus()).isEqualTo("대기");
     }
 
+    @Test
+    void bizException_result() {
+        //given
+        Order order = new Order();
+        order.setUnsername("잔고부족");
+
+        //when
+        // * 예외 대신 결과 객체로 잔고부족을 전달
+        OrderResult result = orderService.orderWithResult(order);
+
+        //then
+        // *** 예외가 없어도 bizException()과 같은 commit 결과
+        assertThat(result.isPendingPayment()).isTrue();
+        assertThat(result.orderId()).isEqualTo(order.getId());
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo("대기");
+    }
+
+    @Test
+    void bizException_noStackTrace() {
+        //given
+        Order order = new Order();
+        order.setUnsername("잔고부족");
+
+        //when
+        // * 비즈니스 예외는 기본적으로 스택 트레이스를 만들지 않음 (BusinessException)
+        assertThatThrownBy(() -> orderService.order(order))
+                .isInstanceOf(NotEnoughMoneyException.class)
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
     /**
      * * 즉, CheckedException이 commit되게끔 설정된 것은, 예외를 메서드의 'return' 처럼 사용가능하게 하는 것
      *   cf) CheckedException을 사용하지않고 설계하는 방식
@@ -0,0 +1,104 @@
+package spring.transaction.order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * order() 한 번에 실행되는 SQL 수 회귀 테스트 (Hibernate Statistics)
+ * * order.single-insert=true -> 주문은 INSERT 한 번, UPDATE 없음
+ * * order_updates + batch_versioned_data -> 한 트랜잭션의 같은 테이블 UPDATE는 PreparedStatement 하나(JDBC batch)
+ */
+@Slf4j
+@SpringBootTest(properties = {"order.single-insert=true", "spring.jpa.properties.hibernate.generate_statistics=true"})
+class OrderStatementCountTest {
+
+    @Autowired OrderService orderService;
+    @Autowired OrderRepository orderRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired EntityManager em;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void complete_singleInsert() throws NotEnoughMoneyException {
+        //given
+        Order order = new Order();
+        order.setUnsername("정상");
+
+        //when
+        orderService.order(order);
+
+        //then
+        EntityStatistics orderStatistics = statistics.getEntityStatistics(Order.class.getName());
+        assertThat(orderStatistics.getInsertCount()).isEqualTo(1);
+        assertThat(orderStatistics.getUpdateCount()).isZero();
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo("완료");
+    }
+
+    @Test
+    void bizException_singleInsert() {
+        //given
+        Order order = new Order();
+        order.setUnsername("잔고부족");
+
+        //when
+        assertThatThrownBy(() -> orderService.order(order))
+                .isInstanceOf(NotEnoughMoneyException.class);
+
+        //then
+        // * 주문 INSERT 1 + outbox 이벤트 INSERT 1, UPDATE 없음
+        EntityStatistics orderStatistics = statistics.getEntityStatistics(Order.class.getName());
+        assertThat(orderStatistics.getInsertCount()).isEqualTo(1);
+        assertThat(orderStatistics.getUpdateCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo("대기");
+    }
+
+    /**
+     * 한 트랜잭션에서 주문 10개의 상태를 변경 -> UPDATE 10건이 PreparedStatement 하나로 전송
+     */
+    @Test
+    void dirtyUpdates_batched() throws NotEnoughMoneyException {
+        //given
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Order order = new Order();
+            order.setUnsername("정상");
+            orderService.order(order);
+            orderIds.add(order.getId());
+        }
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Order> orders = orderRepository.findAllById(orderIds);
+            statistics.clear(); //조회 statement는 제외
+            orders.forEach(order -> order.setPayStatus("취소"));
+            em.flush();
+
+            //then
+            assertThat(statistics.getEntityUpdateCount()).isEqualTo(10);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        });
+    }
+}
@@ -0,0 +1,196 @@
+package spring.transaction.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest(properties = {"order.outbox.max-attempts=2", "order.outbox.retry-delay-ms=0"})
+class PaymentOutboxTest {
+
+    @Autowired OrderService orderService;
+    @Autowired OrderRepository orderRepository;
+    @Autowired PaymentOutboxRepository outboxRepository;
+    @Autowired PaymentOutboxPoller poller;
+    @Autowired PaymentOutboxService outboxService;
+
+    /**
+     * 잔고부족 주문 commit -> 같은 트랜잭션에서 outbox 이벤트 저장 -> 입금 후 poller가 결제 완료 처리
+     */
+    @Test
+    void bizException_retryByOutbox() {
+        //given
+        Order order = waitingOrder();
+        PaymentOutbox event = outboxRepository.findByOrderId(order.getId()).get();
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        deposit(order.getId());
+
+        //when
+        poller.pollOnce();
+
+        //then
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo("완료");
+        PaymentOutbox done = outboxRepository.findById(event.getId()).get();
+        assertThat(done.getStatus()).isEqualTo(OutboxStatus.DONE);
+        assertThat(done.getAttempts()).isEqualTo(1);
+    }
+
+    /**
+     * 주문이 롤백되면 이벤트도 남지 않음
+     */
+    @Test
+    void runtimeException_noEvent() {
+        //given
+        Order order = new Order();
+        order.setUnsername("예외");
+
+        //when
+        assertThatThrownBy(() -> orderService.order(order))
+                .isInstanceOf(RuntimeException.class);
+
+        //then
+        assertThat(outboxRepository.findByOrderId(order.getId())).isEmpty();
+    }
+
+    /**
+     * 여러 poller가 동시에 claim -> skip locked + lease로 각 이벤트는 한 번만 처리
+     */
+    @Test
+    void concurrentPollers() throws Exception {
+        //given
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Long orderId = waitingOrder().getId();
+            deposit(orderId);
+            orderIds.add(orderId);
+        }
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int claimed = 0;
+                int count;
+                while ((count = poller.pollOnce()) > 0) {
+                    claimed += count;
+                }
+                return claimed;
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) {
+            log.info("claimed={}", result.get());
+        }
+        executor.shutdown();
+
+        //then
+        for (Long orderId : orderIds) {
+            PaymentOutbox event = outboxRepository.findByOrderId(orderId).get();
+            assertThat(event.getStatus()).isEqualTo(OutboxStatus.DONE);
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(orderRepository.findById(orderId).get().getPayStatus()).isEqualTo("완료");
+        }
+    }
+
+    /**
+     * 결제 재시도가 계속 실패하면 max-attempts 이후 FAILED - 더 이상 가져가지 않음
+     */
+    @Test
+    void maxAttempts_failed() {
+        //given
+        Order order = waitingOrder();
+        orderRepository.deleteById(order.getId()); //재시도 시점에 주문이 없음 -> 결제 재시도 실패
+        Long eventId = outboxRepository.findByOrderId(order.getId()).get().getId();
+
+        //when
+        poller.pollOnce();
+        poller.pollOnce();
+
+        //then
+        PaymentOutbox event = outboxRepository.findById(eventId).get();
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(event.getAttempts()).isEqualTo(2);
+    }
+
+    /**
+     * 재시도 시점에도 잔고가 부족하면 승인하지 않음 -> 실패로 기록, max-attempts 이후 FAILED
+     */
+    @Test
+    void stillShort_notApproved() {
+        //given
+        Order order = waitingOrder();
+        Long eventId = outboxRepository.findByOrderId(order.getId()).get().getId();
+
+        //when
+        poller.pollOnce();
+
+        //then
+        PaymentOutbox event = outboxRepository.findById(eventId).get();
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo("대기");
+
+        //when
+        poller.pollOnce();
+
+        //then
+        assertThat(outboxRepository.findById(eventId).get().getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo("대기");
+    }
+
+    /**
+     * lease가 만료되어 다른 poller가 다시 가져간 이벤트 -> 이전 poller는 처리하지 않음
+     */
+    @Test
+    void leaseLost_skipped() {
+        //given
+        Order order = waitingOrder();
+        deposit(order.getId());
+        Long eventId = outboxRepository.findByOrderId(order.getId()).get().getId();
+        List<Long> claimed = outboxService.claim("poller-b", 1000, Duration.ofMinutes(1));
+        assertThat(claimed).contains(eventId);
+
+        //when
+        Optional<OrderResult> result = orderService.retryPayment(eventId, "poller-a");
+
+        //then
+        assertThat(result).isEmpty();
+        assertThat(outboxRepository.findById(eventId).get().getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(orderRepository.findById(order.getId()).get().getPayStatus()).isEqualTo("대기");
+
+        //lease를 가진 poller는 처리 가능
+        assertThat(orderService.retryPayment(eventId, "poller-b")).isPresent();
+        assertThat(outboxRepository.findById(eventId).get().getStatus()).isEqualTo(OutboxStatus.DONE);
+    }
+
+    //입금 확인 - 이 예제의 결제 결과는 주문자(unsername)로 결정되므로 주문자를 정상으로 변경
+    private void deposit(Long orderId) {
+        Order order = orderRepository.findById(orderId).get();
+        order.setUnsername("정상");
+        orderRepository.save(order);
+    }
+
+    private Order waitingOrder() {
+        Order order = new Order();
+        order.setUnsername("잔고부족");
+        assertThatThrownBy(() -> orderService.order(order))
+                .isInstanceOf(NotEnoughMoneyException.class);
+        return order;
+    }
+}
@@ -0,0 +1,125 @@
+package spring.transaction.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * OrderServiceTest와 같은 시나리오를 논블로킹 경로로 검증
+ */
+@Slf4j
+@SpringBootTest(properties = "order.reactive.enabled=true")
+class ReactiveOrderServiceTest {
+
+    @Autowired ReactiveOrderService reactiveOrderService;
+    @Autowired ReactiveOrderRepository reactiveOrderRepository;
+    @Autowired OrderRepository orderRepository;
+    @Autowired PaymentOutboxRepository paymentOutboxRepository;
+
+    @Test
+    void complete() {
+        //given
+        Order order = new Order();
+        order.setUnsername("정상");
+
+        //when
+        StepVerifier.create(reactiveOrderService.order(order))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        //then
+        StepVerifier.create(reactiveOrderRepository.findById(order.getId()))
+                .assertNext(findOrder -> assertThat(findOrder.getPayStatus()).isEqualTo("완료"))
+                .verifyComplete();
+    }
+
+    @Test
+    void runtimeException() {
+        //given
+        Order order = new Order();
+        order.setUnsername("예외");
+
+        //when
+        StepVerifier.create(reactiveOrderService.order(order))
+                .expectError(RuntimeException.class)
+                .verify();
+
+        //then
+        // * 에러 신호 -> 롤백 -> insert 된 주문도 없음
+        StepVerifier.create(reactiveOrderRepository.findById(order.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void bizException() {
+        //given
+        Order order = new Order();
+        order.setUnsername("잔고부족");
+
+        //when
+        StepVerifier.create(reactiveOrderService.order(order))
+                .expectError(NotEnoughMoneyException.class)
+                .verify();
+
+        //then
+        // *** 호출자는 예외를 받지만 트랜잭션은 commit
+        StepVerifier.create(reactiveOrderRepository.findById(order.getId()))
+                .assertNext(findOrder -> assertThat(findOrder.getPayStatus()).isEqualTo("대기"))
+                .verifyComplete();
+        // * 결제 재시도 이벤트도 같은 트랜잭션에서 저장 (OrderService와 동일)
+        assertThat(paymentOutboxRepository.findByOrderId(order.getId())).isPresent();
+    }
+
+    /**
+     * 같은 멱등키로 다시 요청 -> 새 주문 없이 첫 요청의 결과를 그대로 반환 (OrderService와 같은 OrderPolicy)
+     */
+    @Test
+    void idempotencyKey_replay() {
+        //given
+        Order first = new Order();
+        first.setUnsername("잔고부족");
+        first.setIdempotencyKey("reactive-replay");
+        StepVerifier.create(reactiveOrderService.order(first))
+                .expectError(NotEnoughMoneyException.class)
+                .verify();
+
+        //when
+        Order retry = new Order();
+        retry.setUnsername("잔고부족");
+        retry.setIdempotencyKey("reactive-replay");
+
+        //then
+        // * unique 인덱스 위반이 아니라 첫 요청과 같은 응답
+        StepVerifier.create(reactiveOrderService.order(retry))
+                .expectError(NotEnoughMoneyException.class)
+                .verify();
+        assertThat(retry.getId()).isEqualTo(first.getId());
+        assertThat(orderRepository.findByIdempotencyKey("reactive-replay")).isPresent();
+    }
+
+    /**
+     * JPA와 같은 DB/테이블 -> 논블로킹 경로로 저장한 주문을 JPA로 조회
+     */
+    @Test
+    void sharedSchema() {
+        //given
+        Order order = new Order();
+        order.setUnsername("정상");
+        order.setIdempotencyKey("reactive-shared");
+
+        //when
+        StepVerifier.create(reactiveOrderService.order(order))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        //then
+        Order findOrder = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(findOrder.getPayStatus()).isEqualTo("완료");
+        assertThat(findOrder.getIdempotencyKey()).isEqualTo("reactive-shared");
+        assertThat(findOrder.getVersion()).isEqualTo(0L); //결제 상태를 정한 뒤 insert 한 번
+    }
+}
@@ -0,0 +1,154 @@
+package spring.transaction.propagation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "log.async.enabled=true",
+        "log.async.batch-size=10",
+        "log.async.flush-interval-ms=10"
+})
+class AsyncLogWriterTest {
+
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    LogRepository logRepository;
+    @Autowired
+    AsyncLogWriter asyncLogWriter;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    /**
+     * memberService     @Transactional:ON
+     * memberRepository  @Transactional:ON
+     * asyncLogWriter    백그라운드 스레드에서 saveBatch(REQUIRES_NEW)
+     */
+    @Test
+    void asyncLog_success() throws InterruptedException {
+        //given
+        String username = "asyncLog_success";
+
+        //when
+        memberService.joinV1Async(username);
+
+        //then : 큐가 비워지면 member, log 모두 저장
+        assertTrue(asyncLogWriter.awaitFlush(Duration.ofSeconds(5)));
+        assertTrue(memberRepository.find(username).isPresent());
+        assertTrue(logRepository.find(username).isPresent());
+    }
+
+    /**
+     * 같은 묶음에 실패하는 로그가 섞여있는 경우
+     * -> 묶음 전체 롤백 후 건별 저장으로 전환되어 실패한 로그만 버려짐
+     */
+    @Test
+    void asyncLog_fail() throws InterruptedException {
+        //given
+        String username = "asyncLog_fail";
+        String failUsername = "로그예외_asyncLog_fail";
+
+        //when
+        memberService.joinV1Async(username);
+        memberService.joinV1Async(failUsername);
+
+        //then : member는 모두 저장 + 실패한 로그만 롤백
+        assertTrue(asyncLogWriter.awaitFlush(Duration.ofSeconds(5)));
+        assertTrue(memberRepository.find(username).isPresent());
+        assertTrue(memberRepository.find(failUsername).isPresent());
+        assertTrue(logRepository.find(username).isPresent());
+        assertTrue(logRepository.find(failUsername).isEmpty());
+        assertThat(asyncLogWriter.getFailedCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    /**
+     * member 트랜잭션이 롤백되면 로그도 큐에 적재되지 않음 (afterCommit 시점에 적재)
+     */
+    @Test
+    void asyncLog_rollback() throws InterruptedException {
+        //given
+        String username = "asyncLog_rollback";
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            memberService.joinV1Async(username);
+            status.setRollbackOnly();
+        });
+
+        //then
+        assertTrue(asyncLogWriter.awaitFlush(Duration.ofSeconds(5)));
+        assertTrue(memberRepository.find(username).isEmpty());
+        assertTrue(logRepository.find(username).isEmpty());
+    }
+
+    /**
+     * DROP : 큐(크기 1)가 가득 차면 로그를 버림
+     * * 백그라운드 스레드를 시작하지 않은(afterPropertiesSet 미호출) writer로 큐 포화 상황을 만듦
+     */
+    @Test
+    void backpressure_drop() {
+        //given
+        AsyncLogWriter writer = new AsyncLogWriter(logRepository, true, 1, 10, 10, LogBackpressurePolicy.DROP, "");
+
+        //when
+        writer.write(new Log("drop_1"));
+        writer.write(new Log("drop_2"));
+
+        //then
+        assertThat(writer.getDroppedCount()).isEqualTo(1);
+        assertThat(writer.getSpilledCount()).isZero();
+    }
+
+    /**
+     * SPILL : 큐가 가득 차면 파일에 기록 -> 다음 기동(afterPropertiesSet) 시 다시 적재해서 저장
+     */
+    @Test
+    void backpressure_spill(@TempDir Path dir) throws IOException, InterruptedException {
+        //given
+        Path spillPath = dir.resolve("log-spill.txt");
+        AsyncLogWriter full = new AsyncLogWriter(logRepository, true, 1, 10, 10,
+                LogBackpressurePolicy.SPILL, spillPath.toString());
+
+        //when
+        full.write(new Log("spill_1"));
+        full.write(new Log("spill_2"));
+
+        //then
+        assertThat(full.getSpilledCount()).isEqualTo(1);
+        assertThat(Files.readAllLines(spillPath, StandardCharsets.UTF_8)).containsExactly("spill_2");
+
+        //다음 기동 - spill 파일의 로그를 저장하고 파일 삭제
+        AsyncLogWriter restarted = new AsyncLogWriter(logRepository, true, 10, 10, 10,
+                LogBackpressurePolicy.SPILL, spillPath.toString());
+        restarted.afterPropertiesSet();
+        try {
+            assertTrue(restarted.awaitFlush(Duration.ofSeconds(5)));
+            assertTrue(logRepository.find("spill_2").isPresent());
+            assertFalse(Files.exists(spillPath));
+        } finally {
+            restarted.destroy();
+        }
+    }
+
+    @Test
+    void spill_requiresPath() {
+        assertThatThrownBy(() -> new AsyncLogWriter(logRepository, true, 1, 10, 10, LogBackpressurePolicy.SPILL, ""))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
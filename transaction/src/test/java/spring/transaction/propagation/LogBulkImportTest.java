@@ -0,0 +1,73 @@
+package spring.transaction.propagation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest(properties = "log.bulk.chunk-size=100")
+class LogBulkImportTest {
+
+    @Autowired LogRepository logRepository;
+
+    /**
+     * Stream은 하나씩 소비됨 -> 저장할 로그 전체를 미리 만들어두지 않아도 됨
+     */
+    @Test
+    void saveAll() {
+        //given
+        Stream<Log> logs = IntStream.range(0, 10_000).mapToObj(i -> new Log("bulk_" + i));
+
+        //when
+        long count = logRepository.saveAll(logs);
+
+        //then
+        assertThat(count).isEqualTo(10_000);
+        assertThat(logRepository.exists("bulk_0")).isTrue();
+        assertThat(logRepository.exists("bulk_9999")).isTrue();
+    }
+
+    /**
+     * 중간에 실패 -> 실패한 chunk만 롤백, 이전 chunk는 commit 된 상태로 남음
+     * * message 컬럼(varchar 255)보다 긴 로그로 insert 실패를 만듦
+     */
+    @Test
+    void saveAll_rollbackChunk() {
+        //given
+        Stream<Log> logs = Stream.concat(
+                IntStream.range(0, 150).mapToObj(i -> new Log("bulk_rollback_" + i)),
+                Stream.of(new Log("x".repeat(300))));
+
+        //when
+        assertThatThrownBy(() -> logRepository.saveAll(logs))
+                .isInstanceOf(RuntimeException.class);
+
+        //then
+        assertThat(logRepository.exists("bulk_rollback_99")).isTrue(); //첫 chunk(0~99) commit
+        assertThat(logRepository.exists("bulk_rollback_100")).isFalse(); //실패한 chunk(100~150) 롤백
+    }
+
+    /**
+     * 받은 Stream은 저장이 끝나면(실패해도) 닫힘
+     */
+    @Test
+    void saveAll_closeStream() {
+        //given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Log> logs = Stream.of(new Log("bulk_close_0")).onClose(() -> closed.set(true));
+
+        //when
+        logRepository.saveAll(logs);
+
+        //then
+        assertTrue(closed.get());
+    }
+}
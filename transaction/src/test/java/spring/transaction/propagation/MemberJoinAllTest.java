@@ -0,0 +1,67 @@
+package spring.transaction.propagation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * chunk 크기 3 -> 7명 가입 시 chunk 3개(3, 3, 1)로 나누어 저장
+ */
+@Slf4j
+@SpringBootTest(properties = "member.join.chunk-size=3")
+class MemberJoinAllTest {
+
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    LogRepository logRepository;
+
+    @Test
+    void joinAll_success() {
+        //given
+        List<String> usernames = IntStream.range(0, 7)
+                .mapToObj(i -> "joinAll_success_" + i)
+                .toList();
+
+        //when
+        memberService.joinAll(usernames);
+
+        //then : 모든 데이터가 정상 저장된다
+        for (String username : usernames) {
+            assertTrue(memberRepository.find(username).isPresent());
+            assertTrue(logRepository.find(username).isPresent());
+        }
+    }
+
+    /**
+     * 두 번째 chunk에 로그예외가 섞여있는 경우
+     * -> 해당 chunk의 log 일괄 저장은 롤백 -> 건별 저장으로 전환
+     * -> joinV2와 동일하게 member는 모두 저장 + 실패한 log만 롤백
+     */
+    @Test
+    void joinAll_logFail() {
+        //given
+        List<String> usernames = List.of(
+                "joinAll_logFail_0", "joinAll_logFail_1", "joinAll_logFail_2",
+                "joinAll_logFail_3", "로그예외_joinAll_logFail_4", "joinAll_logFail_5");
+
+        //when
+        memberService.joinAll(usernames);
+
+        //then
+        for (String username : usernames) {
+            assertTrue(memberRepository.find(username).isPresent());
+        }
+        assertTrue(logRepository.find("joinAll_logFail_3").isPresent());
+        assertTrue(logRepository.find("joinAll_logFail_5").isPresent());
+        assertTrue(logRepository.find("로그예외_joinAll_logFail_4").isEmpty());
+    }
+}
@@ -0,0 +1,43 @@
+package spring.transaction.propagation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest
+class MemberRepositoryTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    void exists() {
+        //given
+        String username = "exists";
+        memberRepository.save(new Member(username));
+
+        //then : 엔티티 조회 없이 존재 여부만 확인
+        assertTrue(memberRepository.exists(username));
+        assertFalse(memberRepository.exists("exists_missing"));
+    }
+
+    /**
+     * username에 unique 인덱스 -> 같은 username으로 두 번 저장하면 commit 시점에 예외
+     */
+    @Test
+    void duplicateUsername() {
+        //given
+        String username = "duplicateUsername";
+        memberRepository.save(new Member(username));
+
+        //when
+        assertThatThrownBy(() -> memberRepository.save(new Member(username)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -1,10 +1,12 @@
 package spring.transaction.propagation;
 
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +21,10 @@ class MemberServiceTest {
     MemberRepository memberRepository;
     @Autowired
     LogRepository logRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManager em;
 
     /**
      * memberService     @Transactional:OFF
@@ -177,6 +183,65 @@ class MemberServiceTest {
         assertTrue(memberRepository.find(username).isPresent());
         assertTrue(logRepository.find(username).isEmpty());
     }
+
+    /**
+     * memberService     @Transactional:ON
+     * memberRepository  @Transactional:ON
+     * logRepository     @Transactional:ON(NESTED) + Exception(RuntimeException / try-catch O)
+     * -> 같은 물리 트랜잭션(con) 안에서 savepoint로 롤백 -> outerTx에 rollback-only marking 하지 않음
+     */
+    @Test
+    void recoverException_nested() {
+        //given
+        String username = "로그예외_recoverException_nested";
+
+        //when
+        memberService.joinV3(username);
+
+        //then : member 저장 + log 롤백
+        assertTrue(memberRepository.find(username).isPresent());
+        assertTrue(logRepository.find(username).isEmpty());
+    }
+
+    @Test
+    void nested_success() {
+        //given
+        String username = "nested_success";
+
+        //when
+        memberService.joinV3(username);
+
+        //then : member, log 모두 저장
+        assertTrue(memberRepository.find(username).isPresent());
+        assertTrue(logRepository.find(username).isPresent());
+    }
+
+    /**
+     * savepoint 롤백은 내부 트랜잭션에서 영속 상태가 된 엔티티만 evict
+     * -> 외부 트랜잭션에서 저장한 member는 롤백 이후에도 영속 상태 (다시 조회할 필요 없음)
+     */
+    @Test
+    void nested_rollback_keepsOuterEntities() {
+        //given
+        String username = "nested_keepOuter";
+        Log logMessage = new Log("로그예외_" + username);
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = new Member(username);
+            memberRepository.save(member);
+            assertThatThrownBy(() -> logRepository.saveNested(logMessage))
+                    .isInstanceOf(RuntimeException.class);
+
+            //then : member 영속 상태 유지, log만 evict
+            assertTrue(em.contains(member));
+            assertFalse(em.contains(logMessage));
+        });
+
+        assertTrue(memberRepository.find(username).isPresent());
+        assertTrue(logRepository.find(logMessage.getMessage()).isEmpty());
+    }
+
     /**
      * 주의점
      * 결국 하나의 요청에 con0(보류, pool로 반납하거나 접속 종료가 아님), con1 각각의 커넥션을 유지하며 2개를 사용하는 구조